@@ -0,0 +1,47 @@
+package duke.components;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the task lists used by the benchmarks: a repeating mix of todos, deadlines and events whose
+ * descriptions share a few common words and end in a unique number.
+ */
+public final class BenchmarkTasks {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private BenchmarkTasks() {
+    }
+
+    /**
+     * Returns the specified number of tasks, with every fifth task marked as done and every seventh tagged.
+     *
+     * @param count The number of tasks.
+     * @return The tasks.
+     */
+    public static List<Task> create(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean isDone = i % 5 == 0;
+            LocalDateTime time = START.plusHours(i);
+            Task task;
+            switch (i % 3) {
+            case 0:
+                task = new ToDo("read book " + i, isDone);
+                break;
+            case 1:
+                task = new Deadline("return book " + i, time, isDone);
+                break;
+            default:
+                task = new Event("project meeting " + i, time, time.plusHours(2), isDone);
+                break;
+            }
+            if (i % 7 == 0) {
+                task.setTag("work");
+            }
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
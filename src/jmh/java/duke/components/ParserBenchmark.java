@@ -0,0 +1,30 @@
+package duke.components;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import duke.exceptions.AdventureGuideException;
+
+/**
+ * Measures parsing a command line into a command, including the dates of deadlines and events.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParserBenchmark {
+    @Param({ "list", "mark 1,3-5", "todo read book", "deadline return book /by 2/12/2019 1800",
+            "event project meeting /from 12/2/2025 1800 /to 13/2/2025 1800" })
+    public String command;
+
+    @Benchmark
+    public Command parse() throws AdventureGuideException {
+        return Parser.parse(command);
+    }
+}
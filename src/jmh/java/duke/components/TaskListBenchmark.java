@@ -0,0 +1,40 @@
+package duke.components;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures searching the task list by keyword, across list sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskListBenchmark {
+    @Param({ "100", "10000", "1000000" })
+    public int size;
+
+    /** A keyword matching a single task, one matching a third of the tasks, and one matching none. */
+    @Param({ "4242", "meeting", "missing" })
+    public String keyword;
+
+    private TaskList tasks;
+
+    @Setup
+    public void setUp() {
+        tasks = new TaskList(BenchmarkTasks.create(size));
+    }
+
+    @Benchmark
+    public List<Task> findTasks() {
+        return tasks.findTasks(keyword);
+    }
+}
@@ -0,0 +1,40 @@
+package duke.components;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures rendering every task of the list the way the "list" command does, one {@link Task#toString()}
+ * per task, across list sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskRenderBenchmark {
+    @Param({ "100", "10000", "1000000" })
+    public int size;
+
+    private TaskList tasks;
+
+    @Setup
+    public void setUp() {
+        tasks = new TaskList(BenchmarkTasks.create(size));
+    }
+
+    @Benchmark
+    public void renderTasks(Blackhole blackhole) {
+        int taskNumber = 1;
+        for (Task task : tasks.getTasks()) {
+            blackhole.consume(taskNumber++ + ". " + task);
+        }
+    }
+}
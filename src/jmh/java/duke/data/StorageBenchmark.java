@@ -0,0 +1,75 @@
+package duke.data;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import duke.components.BenchmarkTasks;
+import duke.components.Task;
+
+/**
+ * Measures loading and saving the whole task file in both formats, across list sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StorageBenchmark {
+    @Param({ "100", "10000", "1000000" })
+    public int size;
+
+    @Param({ "TEXT", "BINARY" })
+    public Storage.Format format;
+
+    private Path directory;
+    private Storage loadedStorage;
+    private Storage savedStorage;
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("storage-benchmark");
+        tasks = BenchmarkTasks.create(size);
+        loadedStorage = createStorage("loaded.txt");
+        loadedStorage.save(tasks);
+        savedStorage = createStorage("saved.txt");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public List<Task> load() throws IOException {
+        return loadedStorage.load();
+    }
+
+    @Benchmark
+    public void save() throws IOException {
+        savedStorage.save(tasks);
+    }
+
+    private Storage createStorage(String fileName) {
+        Storage storage = new Storage(directory.resolve(fileName).toString(), false);
+        storage.setFormat(format);
+        return storage;
+    }
+}
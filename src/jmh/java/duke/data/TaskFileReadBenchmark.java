@@ -0,0 +1,101 @@
+package duke.data;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import duke.components.Deadline;
+import duke.components.Event;
+import duke.components.Task;
+import duke.components.ToDo;
+
+/**
+ * Compares reading a text task file with the Scanner and regex split loader that Storage used before, and with
+ * {@link TextTaskReader}, across file sizes. Both read the same version 1 file, which the old loader understands.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskFileReadBenchmark {
+    @Param({ "10000", "100000", "1000000" })
+    public int size;
+
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("tasks", ".txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < size; i++) {
+                switch (i % 3) {
+                case 0:
+                    writer.write("T | 0 | read chapter " + i);
+                    break;
+                case 1:
+                    writer.write("D | 1 | return book " + i + " | 2/12/2019 1800");
+                    break;
+                default:
+                    writer.write("E | 0 | project meeting " + i + " | 12/2/2025 1800 | 13/2/2025 1800");
+                    break;
+                }
+                writer.newLine();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public List<Task> readWithScanner() throws IOException {
+        return loadWithScanner(file.toFile());
+    }
+
+    @Benchmark
+    public List<Task> readWithTextTaskReader() throws IOException {
+        return TextTaskReader.read(file.toFile()).getTasks();
+    }
+
+    /** The loader used by Storage before TextTaskReader was introduced. */
+    private static List<Task> loadWithScanner(File file) throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        Scanner sc = new Scanner(file, StandardCharsets.UTF_8);
+        while (sc.hasNext()) {
+            String[] taskComponents = sc.nextLine().split(" \\| ");
+            boolean isDone = taskComponents[1].equals("1");
+            String description = taskComponents[2];
+            switch (taskComponents[0]) {
+            case "T":
+                tasks.add(new ToDo(description, isDone));
+                break;
+            case "D":
+                tasks.add(new Deadline(description, taskComponents[3], isDone));
+                break;
+            default:
+                tasks.add(new Event(description, taskComponents[3], taskComponents[4], isDone));
+                break;
+            }
+        }
+        sc.close();
+        return tasks;
+    }
+}
@@ -0,0 +1,137 @@
+package duke.ui;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import duke.components.BenchmarkTasks;
+import duke.components.Task;
+import duke.data.TaskRepository;
+
+/**
+ * Measures the response to each type of command, from parsing to the response text, across list sizes.
+ * <p>
+ * The bot saves to a repository that discards all changes, so that disk writes, which
+ * {@link duke.data.StorageBenchmark} covers, do not hide the cost of the commands themselves. Commands that
+ * change the list are measured together with the command that undoes the change, so that every invocation
+ * sees a list of the same size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AdventureGuideBotBenchmark {
+    @Param({ "100", "10000", "1000000" })
+    public int size;
+
+    @Param({ "list", "find", "mark", "tag", "tags", "todo", "deadline", "event", "undo", "unknown" })
+    public String commandType;
+
+    private AdventureGuideBot bot;
+    private String[] commands;
+
+    @Setup
+    public void setUp() {
+        bot = new AdventureGuideBot(new DiscardingRepository(BenchmarkTasks.create(size)));
+        String addedTaskNumber = String.valueOf(size + 1);
+        switch (commandType) {
+        case "list":
+            commands = new String[] { "list" };
+            break;
+        case "find":
+            commands = new String[] { "find 4242" };
+            break;
+        case "mark":
+            commands = new String[] { "mark 2", "unmark 2" };
+            break;
+        case "tag":
+            commands = new String[] { "tag 2 urgent", "untag 2" };
+            break;
+        case "tags":
+            commands = new String[] { "tags" };
+            break;
+        case "todo":
+            commands = new String[] { "todo read book", "delete " + addedTaskNumber };
+            break;
+        case "deadline":
+            commands = new String[] { "deadline return book /by 2/12/2019 1800", "delete " + addedTaskNumber };
+            break;
+        case "event":
+            commands = new String[] { "event project meeting /from 12/2/2025 1800 /to 13/2/2025 1800",
+                    "delete " + addedTaskNumber };
+            break;
+        case "undo":
+            commands = new String[] { "delete 2", "undo" };
+            break;
+        case "unknown":
+            commands = new String[] { "blah" };
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown command type: " + commandType);
+        }
+    }
+
+    @Benchmark
+    public void getResponse(Blackhole blackhole) {
+        for (String command : commands) {
+            blackhole.consume(bot.getResponse(command));
+        }
+    }
+
+    /**
+     * A repository that starts with the given tasks and discards every change.
+     */
+    private static class DiscardingRepository implements TaskRepository {
+        private final List<Task> tasks;
+
+        DiscardingRepository(List<Task> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        public List<Task> load() {
+            return tasks;
+        }
+
+        @Override
+        public void insert(Task task) {
+        }
+
+        @Override
+        public void insert(int index, Task task) {
+        }
+
+        @Override
+        public void update(int index, Task task) {
+        }
+
+        @Override
+        public void delete(int index, Task task) {
+        }
+
+        @Override
+        public void commit(List<Task> tasks) {
+        }
+
+        @Override
+        public List<Task> query(String keyword) {
+            return List.of();
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package duke.ui;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+
+/**
+ * Compares how many dialog boxes per second are produced by loading the old DialogBox FXML for every message,
+ * by building a {@link DialogBox} in code for every message, and by reusing one DialogBox through
+ * {@link DialogBox#showMessage}, as the chat history cells do.
+ * <p>
+ * The boxes are never attached to a scene, so they can be built on the benchmark thread once the JavaFX
+ * toolkit has started. Messages alternate between the user and the bot, so that half of them are flipped.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DialogBoxBenchmark {
+    private static final String TEXT = "Got it. I've added this task (@1):\n[T][ ] read book\n"
+            + "Now you have 1 tasks in the list.";
+
+    private Image image;
+    private DialogBox reusedBox;
+    private boolean isFromBot;
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Platform.startup(started::countDown);
+        } catch (IllegalStateException e) {
+            // The toolkit was already started by an earlier benchmark in the same JVM.
+            started.countDown();
+        }
+        started.await();
+        image = new Image(DialogBoxBenchmark.class.getResourceAsStream("/images/AdventureGuide.jpg"));
+        reusedBox = new DialogBox();
+    }
+
+    @Benchmark
+    public HBox loadFromFxmlPerMessage() throws IOException {
+        return loadFromFxml(TEXT, image, nextIsFromBot());
+    }
+
+    @Benchmark
+    public DialogBox buildInCodePerMessage() {
+        DialogBox box = new DialogBox();
+        box.showMessage(TEXT, image, nextIsFromBot());
+        return box;
+    }
+
+    @Benchmark
+    public DialogBox reuseWithShowMessage() {
+        reusedBox.showMessage(TEXT, image, nextIsFromBot());
+        return reusedBox;
+    }
+
+    private boolean nextIsFromBot() {
+        isFromBot = !isFromBot;
+        return isFromBot;
+    }
+
+    /**
+     * Creates a dialog box the way DialogBox did before it was built in code: by parsing the FXML for every
+     * message and flipping bot dialogs by copying and reversing the children.
+     */
+    private static HBox loadFromFxml(String text, Image img, boolean isFromBot) throws IOException {
+        HBox root = new HBox();
+        FxmlDialog controller = new FxmlDialog();
+        FXMLLoader fxmlLoader = new FXMLLoader(DialogBoxBenchmark.class.getResource("/view/DialogBox.fxml"));
+        fxmlLoader.setController(controller);
+        fxmlLoader.setRoot(root);
+        fxmlLoader.load();
+        controller.dialog.setText(text);
+        controller.displayPicture.setImage(img);
+        if (isFromBot) {
+            ObservableList<Node> tmp = FXCollections.observableArrayList(root.getChildren());
+            Collections.reverse(tmp);
+            root.getChildren().setAll(tmp);
+            root.setAlignment(Pos.TOP_LEFT);
+        }
+        return root;
+    }
+
+    /** The controller the old DialogBox FXML was loaded with. */
+    private static class FxmlDialog {
+        @FXML
+        private Label dialog;
+        @FXML
+        private ImageView displayPicture;
+    }
+}
@@ -15,6 +15,7 @@ import duke.ui.MainWindow;
 public class AdventureGuide extends Application {
 
     private AdventureGuideBot bot = new AdventureGuideBot();
+    private MainWindow mainWindow;
 
     /**
      * Starts the AdventureGuide application.
@@ -29,7 +30,8 @@ public class AdventureGuide extends Application {
             AnchorPane ap = fxmlLoader.load();
             Scene scene = new Scene(ap);
             stage.setScene(scene);
-            fxmlLoader.<MainWindow>getController().setAdventureGuideBot(bot);
+            mainWindow = fxmlLoader.getController();
+            mainWindow.setAdventureGuideBot(bot);
             stage.setTitle("Adventure Guide");
             stage.show();
         } catch (IOException e) {
@@ -37,6 +39,23 @@ public class AdventureGuide extends Application {
         }
     }
 
+    /**
+     * Waits for submitted commands to finish and flushes pending task changes to disk when the application exits.
+     */
+    @Override
+    public void stop() {
+        try {
+            if (mainWindow != null) {
+                mainWindow.shutdown();
+            }
+            bot.shutdown();
+        } catch (IOException e) {
+            e.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     /**
      * The main method to start the AdventureGuide application.
      *
@@ -0,0 +1,127 @@
+package duke;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+import duke.data.H2TaskRepository;
+import duke.data.Storage;
+import duke.data.TaskRepository;
+import duke.ui.AdventureGuideBot;
+
+/**
+ * Runs AdventureGuide without the GUI, reading one command per line from a file or standard input and
+ * printing the response to each command.
+ * <p>
+ * Changes are written once at the end by default, or every N commands with {@code --commit-every N}, instead of
+ * after every command, so that importing many tasks does not write to disk for each one.
+ * With {@code --database PATH}, the tasks are kept in an embedded H2 database instead of the task file.
+ * Usage: {@code [--commit-every N] [--database PATH] [--quiet] [file]}
+ */
+public class HeadlessAdventureGuide {
+    /** The Launcher option that starts this mode instead of the GUI. */
+    public static final String HEADLESS_OPTION = "--headless";
+    private static final String COMMIT_EVERY_OPTION = "--commit-every";
+    private static final String DATABASE_OPTION = "--database";
+    private static final String QUIET_OPTION = "--quiet";
+    private static final String USAGE = "Usage: [--commit-every N] [--database PATH] [--quiet] [file]";
+
+    /**
+     * Runs the commands from the file given in the arguments, or from standard input if there is none.
+     *
+     * @param args The command line arguments.
+     * @throws IOException If the commands cannot be read or the tasks cannot be saved.
+     */
+    public static void main(String[] args) throws IOException {
+        int commitInterval = 0;
+        boolean isQuiet = false;
+        String databasePath = null;
+        String inputPath = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals(COMMIT_EVERY_OPTION) && i + 1 < args.length) {
+                try {
+                    commitInterval = Integer.parseInt(args[++i]);
+                } catch (NumberFormatException e) {
+                    commitInterval = -1;
+                }
+                if (commitInterval < 0) {
+                    System.err.println(USAGE);
+                    return;
+                }
+            } else if (args[i].equals(DATABASE_OPTION) && i + 1 < args.length) {
+                databasePath = args[++i];
+            } else if (args[i].equals(QUIET_OPTION)) {
+                isQuiet = true;
+            } else if (inputPath == null && !args[i].startsWith("--")) {
+                inputPath = args[i];
+            } else {
+                System.err.println(USAGE);
+                return;
+            }
+        }
+
+        TaskRepository storage;
+        if (databasePath != null) {
+            storage = new H2TaskRepository(databasePath);
+        } else {
+            Storage fileStorage = new Storage();
+            fileStorage.setCommitInterval(commitInterval);
+            fileStorage.setAsync(true);
+            storage = fileStorage;
+        }
+        AdventureGuideBot bot = new AdventureGuideBot(storage);
+        if (bot.getLoadingError() != null) {
+            System.err.println(bot.getLoadingError());
+        }
+        InputStream input = inputPath == null ? System.in : new FileInputStream(inputPath);
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out,
+                    StandardCharsets.UTF_8)));
+            run(in, out, bot, isQuiet);
+        } finally {
+            bot.shutdown();
+        }
+    }
+
+    /**
+     * Runs every command from the reader until the input ends or a "bye" command is run.
+     * The output is flushed whenever no further input is buffered, so interactive use sees each response
+     * immediately while file input is written in large blocks.
+     *
+     * @param in The reader to read commands from.
+     * @param out The writer to print responses to.
+     * @param bot The bot that runs the commands.
+     * @param isQuiet Whether only the response to "bye" is printed.
+     * @return The number of commands run.
+     * @throws IOException If the commands cannot be read.
+     */
+    static int run(BufferedReader in, PrintWriter out, AdventureGuideBot bot, boolean isQuiet) throws IOException {
+        int commandCount = 0;
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String response = bot.getResponse(line);
+            commandCount++;
+            boolean isBye = line.equals("bye");
+            if (!isQuiet || isBye) {
+                out.println(response);
+            }
+            if (isBye) {
+                break;
+            }
+            if (!in.ready()) {
+                out.flush();
+            }
+        }
+        out.flush();
+        return commandCount;
+    }
+}
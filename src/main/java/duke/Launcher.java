@@ -1,7 +1,22 @@
 package duke;
 
+import java.io.IOException;
+import java.util.Arrays;
+
+import duke.metrics.Metrics;
+import duke.server.AdventureGuideServer;
+
 public class Launcher {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Metrics.registerMBean();
+        if (args.length > 0 && args[0].equals(HeadlessAdventureGuide.HEADLESS_OPTION)) {
+            HeadlessAdventureGuide.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals(AdventureGuideServer.SERVER_OPTION)) {
+            AdventureGuideServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         AdventureGuide.main(args);
     }
 }
@@ -0,0 +1,81 @@
+package duke.components;
+
+import java.time.LocalDateTime;
+
+/**
+ * A parsed user command: its type, its arguments and, for commands that add a task, the parsed fields of the
+ * new task.
+ */
+public final class Command {
+    private final CommandType type;
+    private final String args;
+    private final String description;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    /**
+     * Constructs a command whose arguments are interpreted by its handler.
+     *
+     * @param type The type of the command.
+     * @param args The arguments following the command word, or an empty string if there are none.
+     */
+    Command(CommandType type, String args) {
+        this(type, args, null, null, null);
+    }
+
+    /**
+     * Constructs a command that adds a task.
+     *
+     * @param type The type of the command.
+     * @param args The arguments following the command word.
+     * @param description The description of the new task.
+     * @param start The due date of a deadline or the start of an event, or null for a todo.
+     * @param end The end of an event, or null for other tasks.
+     */
+    Command(CommandType type, String args, String description, LocalDateTime start, LocalDateTime end) {
+        this.type = type;
+        this.args = args;
+        this.description = description;
+        this.start = start;
+        this.end = end;
+    }
+
+    public CommandType getType() {
+        return type;
+    }
+
+    public String getArgs() {
+        return args;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    /**
+     * Creates the task that a todo, deadline or event command adds.
+     *
+     * @return The new task.
+     * @throws IllegalStateException If the command does not add a task.
+     */
+    public Task createTask() {
+        switch (type) {
+        case TODO:
+            return new ToDo(description);
+        case DEADLINE:
+            return new Deadline(description, start);
+        case EVENT:
+            return new Event(description, start, end);
+        default:
+            throw new IllegalStateException("A " + type.getWord() + " command does not add a task");
+        }
+    }
+}
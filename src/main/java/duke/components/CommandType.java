@@ -0,0 +1,78 @@
+package duke.components;
+
+/**
+ * The types of commands the user can enter, each identified by its command word.
+ */
+public enum CommandType {
+    BYE("bye"),
+    LIST("list"),
+    MARK("mark"),
+    UNMARK("unmark"),
+    TODO("todo"),
+    DEADLINE("deadline"),
+    EVENT("event"),
+    DELETE("delete"),
+    FIND("find"),
+    TAG("tag"),
+    UNTAG("untag"),
+    TAGS("tags"),
+    DUE("due"),
+    AGENDA("agenda"),
+    OVERLAPS("overlaps"),
+    UNDO("undo"),
+    REDO("redo"),
+    STATS("stats");
+
+    private static final int DISPATCH_TABLE_SIZE = 128;
+    private static final CommandType[][] TYPES_BY_FIRST_CHAR = createDispatchTable();
+
+    private final String word;
+
+    CommandType(String word) {
+        this.word = word;
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    /**
+     * Returns the type whose command word is the specified region of the text, without copying the region.
+     *
+     * @param text The text containing the command word.
+     * @param length The length of the command word at the start of the text.
+     * @return The type of the command, or null if the region is not a command word.
+     */
+    static CommandType lookUp(String text, int length) {
+        if (length == 0 || text.charAt(0) >= DISPATCH_TABLE_SIZE) {
+            return null;
+        }
+        CommandType[] candidates = TYPES_BY_FIRST_CHAR[text.charAt(0)];
+        if (candidates == null) {
+            return null;
+        }
+        for (CommandType type : candidates) {
+            if (type.word.length() == length && text.startsWith(type.word)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Groups the types by the first character of their command word, so that a lookup compares the input with
+     * at most a few command words.
+     */
+    private static CommandType[][] createDispatchTable() {
+        CommandType[][] table = new CommandType[DISPATCH_TABLE_SIZE][];
+        for (CommandType type : values()) {
+            char first = type.word.charAt(0);
+            CommandType[] candidates = table[first] == null ? new CommandType[0] : table[first];
+            CommandType[] extended = new CommandType[candidates.length + 1];
+            System.arraycopy(candidates, 0, extended, 0, candidates.length);
+            extended[candidates.length] = type;
+            table[first] = extended;
+        }
+        return table;
+    }
+}
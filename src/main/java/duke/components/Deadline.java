@@ -7,8 +7,10 @@ import java.time.format.DateTimeFormatter;
  * Represents a deadline task with a specific due date and time.
  */
 public class Deadline extends Task {
-    protected String by;
+    private static final DateTimeFormatter INPUT_FORMATTER = DateTimeFormatter.ofPattern("d/M/yyyy HHmm");
     private static final DateTimeFormatter OUTPUT_FORMATTER = DateTimeFormatter.ofPattern("MMM d yyyy HH:mm");
+    protected LocalDateTime by;
+    private String byPrint;
 
     /**
      * Constructs a Deadline object with the specified description and due date.
@@ -17,8 +19,7 @@ public class Deadline extends Task {
      * @param by The due date and time in the format "d/M/yyyy HHmm".
      */
     public Deadline(String description, String by) {
-        super(description);
-        this.by = by;
+        this(description, LocalDateTime.parse(by, INPUT_FORMATTER));
     }
 
     /**
@@ -29,6 +30,28 @@ public class Deadline extends Task {
      * @param isDone The completion status of the task.
      */
     public Deadline(String description, String by, boolean isDone) {
+        this(description, LocalDateTime.parse(by, INPUT_FORMATTER), isDone);
+    }
+
+    /**
+     * Constructs a Deadline object with the specified description and already parsed due date.
+     *
+     * @param description The description of the deadline task.
+     * @param by The due date and time.
+     */
+    public Deadline(String description, LocalDateTime by) {
+        super(description);
+        this.by = by;
+    }
+
+    /**
+     * Constructs a Deadline object with the specified description, already parsed due date, and completion status.
+     *
+     * @param description The description of the deadline task.
+     * @param by The due date and time.
+     * @param isDone The completion status of the task.
+     */
+    public Deadline(String description, LocalDateTime by, boolean isDone) {
         super(description, isDone);
         this.by = by;
     }
@@ -36,20 +59,32 @@ public class Deadline extends Task {
     /**
      * Returns the due date and time of the deadline task.
      *
-     * @return The due date and time as a string.
+     * @return The due date and time as a string in the format "d/M/yyyy HHmm".
      */
     public String getBy() {
+        return by.format(INPUT_FORMATTER);
+    }
+
+    /**
+     * Returns the due date and time of the deadline task.
+     *
+     * @return The due date and time.
+     */
+    public LocalDateTime getByDateTime() {
         return by;
     }
 
     /**
      * Returns the formatted due date and time for printing.
+     * The string is formatted on first use and reused afterwards.
      *
      * @return The formatted due date and time as a string in the format "MMM d yyyy HH:mm".
      */
     public String getByPrint() {
-        LocalDateTime byDateTime = LocalDateTime.parse(by, DateTimeFormatter.ofPattern("d/M/yyyy HHmm"));
-        return byDateTime.format(OUTPUT_FORMATTER);
+        if (byPrint == null) {
+            byPrint = by.format(OUTPUT_FORMATTER);
+        }
+        return byPrint;
     }
 
     /**
@@ -68,6 +103,6 @@ public class Deadline extends Task {
      * @return The DateTimeFormatter for parsing due date and time in the format "d/M/yyyy HHmm".
      */
     public static DateTimeFormatter getInputFormatter() {
-        return DateTimeFormatter.ofPattern("d/M/yyyy HHmm");
+        return INPUT_FORMATTER;
     }
-}
\ No newline at end of file
+}
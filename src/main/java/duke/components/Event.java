@@ -8,9 +8,12 @@ import java.time.format.DateTimeFormatter;
  * Inherits from the Task class.
  */
 public class Event extends Task {
-    protected String from;
-    protected String to;
+    private static final DateTimeFormatter INPUT_FORMATTER = DateTimeFormatter.ofPattern("d/M/yyyy HHmm");
     private static final DateTimeFormatter OUTPUT_FORMATTER = DateTimeFormatter.ofPattern("MMM d yyyy HH:mm");
+    protected LocalDateTime from;
+    protected LocalDateTime to;
+    private String fromPrint;
+    private String toPrint;
 
     /**
      * Constructs an Event with the specified description, start time, and end time.
@@ -20,9 +23,7 @@ public class Event extends Task {
      * @param to The end time of the event in the format "d/M/yyyy HHmm".
      */
     public Event(String description, String from, String to) {
-        super(description);
-        this.from = from;
-        this.to = to;
+        this(description, LocalDateTime.parse(from, INPUT_FORMATTER), LocalDateTime.parse(to, INPUT_FORMATTER));
     }
 
     /**
@@ -34,6 +35,33 @@ public class Event extends Task {
      * @param isDone The completion status of the event.
      */
     public Event(String description, String from, String to, boolean isDone) {
+        this(description, LocalDateTime.parse(from, INPUT_FORMATTER), LocalDateTime.parse(to, INPUT_FORMATTER),
+                isDone);
+    }
+
+    /**
+     * Constructs an Event with the specified description and already parsed start and end times.
+     *
+     * @param description The description of the event.
+     * @param from The start time of the event.
+     * @param to The end time of the event.
+     */
+    public Event(String description, LocalDateTime from, LocalDateTime to) {
+        super(description);
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Constructs an Event with the specified description, already parsed start and end times,
+     * and completion status.
+     *
+     * @param description The description of the event.
+     * @param from The start time of the event.
+     * @param to The end time of the event.
+     * @param isDone The completion status of the event.
+     */
+    public Event(String description, LocalDateTime from, LocalDateTime to, boolean isDone) {
         super(description, isDone);
         this.from = from;
         this.to = to;
@@ -42,9 +70,27 @@ public class Event extends Task {
     /**
      * Returns the start time of the event.
      *
-     * @return The start time of the event.
+     * @return The start time of the event in the format "d/M/yyyy HHmm".
      */
     public String getFrom() {
+        return from.format(INPUT_FORMATTER);
+    }
+
+    /**
+     * Returns the end time of the event.
+     *
+     * @return The end time of the event in the format "d/M/yyyy HHmm".
+     */
+    public String getTo() {
+        return to.format(INPUT_FORMATTER);
+    }
+
+    /**
+     * Returns the start time of the event.
+     *
+     * @return The start time of the event.
+     */
+    public LocalDateTime getFromDateTime() {
         return from;
     }
 
@@ -53,28 +99,34 @@ public class Event extends Task {
      *
      * @return The end time of the event.
      */
-    public String getTo() {
+    public LocalDateTime getToDateTime() {
         return to;
     }
 
     /**
      * Returns the formatted start time of the event for printing.
+     * The string is formatted on first use and reused afterwards.
      *
      * @return The formatted start time of the event.
      */
     public String getFromPrint() {
-        LocalDateTime fromDateTime = LocalDateTime.parse(from, DateTimeFormatter.ofPattern("d/M/yyyy HHmm"));
-        return fromDateTime.format(OUTPUT_FORMATTER);
+        if (fromPrint == null) {
+            fromPrint = from.format(OUTPUT_FORMATTER);
+        }
+        return fromPrint;
     }
 
     /**
      * Returns the formatted end time of the event for printing.
+     * The string is formatted on first use and reused afterwards.
      *
      * @return The formatted end time of the event.
      */
     public String getToPrint() {
-        LocalDateTime toDateTime = LocalDateTime.parse(to, DateTimeFormatter.ofPattern("d/M/yyyy HHmm"));
-        return toDateTime.format(OUTPUT_FORMATTER);
+        if (toPrint == null) {
+            toPrint = to.format(OUTPUT_FORMATTER);
+        }
+        return toPrint;
     }
 
     /**
@@ -93,6 +145,6 @@ public class Event extends Task {
      * @return The input formatter.
      */
     public static DateTimeFormatter getInputFormatter() {
-        return DateTimeFormatter.ofPattern("d/M/yyyy HHmm");
+        return INPUT_FORMATTER;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,282 @@
+package duke.components;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An append-only array of tasks with O(log n) access and removal by position.
+ * <p>
+ * Removed tasks leave an empty slot behind, and a Fenwick tree over the occupied slots maps a position in the
+ * list to its slot. Tasks are appended in increasing ID order, so a task can also be found by binary searching
+ * the slot IDs. The empty slots are compacted away once they outnumber the tasks, which keeps removal
+ * amortized O(log n). A removed task can be put back at the position its ID gives it, which reuses its empty
+ * slot if it is still there.
+ */
+final class IndexedTaskArray {
+    private static final int MIN_CAPACITY = 16;
+
+    private Task[] slots = new Task[MIN_CAPACITY];
+    private long[] slotIds = new long[MIN_CAPACITY];
+    private int[] tree = new int[MIN_CAPACITY + 1];
+    private int slotCount;
+    private int size;
+
+    /**
+     * Appends a task to the end of the array.
+     *
+     * @param task The task to append. Its ID must be greater than the ID of every task appended before.
+     */
+    void append(Task task) {
+        assert slotCount == 0 || task.getId() > slotIds[slotCount - 1] : "Task IDs must be increasing";
+        if (slotCount == slots.length) {
+            rebuild(Math.max(MIN_CAPACITY, size * 2));
+        }
+        slots[slotCount] = task;
+        slotIds[slotCount] = task.getId();
+        slotCount++;
+        size++;
+        update(slotCount, 1);
+    }
+
+    /**
+     * Returns the task at the specified position.
+     *
+     * @param position The zero-based position of the task.
+     * @return The task at the position.
+     * @throws IndexOutOfBoundsException If the position is out of range.
+     */
+    Task get(int position) {
+        return slots[slotOf(position)];
+    }
+
+    /**
+     * Removes the task at the specified position.
+     *
+     * @param position The zero-based position of the task.
+     * @return The removed task.
+     * @throws IndexOutOfBoundsException If the position is out of range.
+     */
+    Task remove(int position) {
+        int slot = slotOf(position);
+        Task task = slots[slot];
+        slots[slot] = null;
+        size--;
+        update(slot + 1, -1);
+        if (slotCount > MIN_CAPACITY && slotCount - size > size) {
+            rebuild(Math.max(MIN_CAPACITY, size * 2));
+        }
+        return task;
+    }
+
+    /**
+     * Removes the tasks at the specified positions, given as positions before any of the tasks is removed.
+     * Removing many tasks compacts the array at most once, in O(n), instead of updating the tree per task.
+     *
+     * @param positions The distinct zero-based positions of the tasks, in increasing order.
+     * @return The removed tasks, in list order.
+     * @throws IndexOutOfBoundsException If a position is out of range.
+     */
+    Task[] removeAll(int[] positions) {
+        int[] removedSlots = new int[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            assert i == 0 || positions[i] > positions[i - 1] : "Positions must be increasing";
+            removedSlots[i] = slotOf(positions[i]);
+        }
+        Task[] removedTasks = new Task[positions.length];
+        for (int i = 0; i < removedSlots.length; i++) {
+            removedTasks[i] = slots[removedSlots[i]];
+            slots[removedSlots[i]] = null;
+        }
+        size -= positions.length;
+        if (slotCount > MIN_CAPACITY && slotCount - size > size) {
+            rebuild(Math.max(MIN_CAPACITY, size * 2));
+        } else {
+            for (int slot : removedSlots) {
+                update(slot + 1, -1);
+            }
+        }
+        return removedTasks;
+    }
+
+    /**
+     * Puts removed tasks back into the array, each at the position its ID gives it among the other tasks.
+     * Tasks whose slots are still empty are put back into them in O(log n) each. Otherwise, the tasks are merged
+     * with the array in one pass, in O(n).
+     *
+     * @param restoredTasks The tasks to put back, in increasing order of ID. No task in the array may have the
+     *                      same ID as one of them.
+     */
+    void restoreAll(List<Task> restoredTasks) {
+        int[] restoredSlots = new int[restoredTasks.size()];
+        for (int i = 0; i < restoredSlots.length; i++) {
+            Task task = restoredTasks.get(i);
+            assert i == 0 || task.getId() > restoredTasks.get(i - 1).getId() : "Task IDs must be increasing";
+            int slot = Arrays.binarySearch(slotIds, 0, slotCount, task.getId());
+            if (slot < 0) {
+                merge(restoredTasks);
+                return;
+            }
+            assert slots[slot] == null : "Task IDs must be unique";
+            restoredSlots[i] = slot;
+        }
+        for (int i = 0; i < restoredSlots.length; i++) {
+            slots[restoredSlots[i]] = restoredTasks.get(i);
+            update(restoredSlots[i] + 1, 1);
+        }
+        size += restoredSlots.length;
+    }
+
+    /**
+     * Returns the position of the task with the specified ID.
+     *
+     * @param id The ID of the task.
+     * @return The zero-based position of the task, or -1 if there is no task with the ID.
+     */
+    int positionOf(long id) {
+        int slot = Arrays.binarySearch(slotIds, 0, slotCount, id);
+        if (slot < 0 || slots[slot] == null) {
+            return -1;
+        }
+        return prefixSum(slot + 1) - 1;
+    }
+
+    /**
+     * Returns the number of tasks in the array.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns a read-only list view of the tasks. Iterating over the view takes O(1) per task.
+     */
+    List<Task> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Task get(int index) {
+                return IndexedTaskArray.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public Iterator<Task> iterator() {
+                return new SlotIterator();
+            }
+        };
+    }
+
+    private int slotOf(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Index " + position + " out of bounds for length " + size);
+        }
+        int slot = 0;
+        int remaining = position + 1;
+        for (int step = Integer.highestOneBit(slots.length); step > 0; step >>= 1) {
+            int next = slot + step;
+            if (next <= slots.length && tree[next] < remaining) {
+                slot = next;
+                remaining -= tree[next];
+            }
+        }
+        return slot;
+    }
+
+    private int prefixSum(int slotNumber) {
+        int sum = 0;
+        for (int i = slotNumber; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    private void update(int slotNumber, int delta) {
+        for (int i = slotNumber; i <= slots.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Moves all tasks to the front of new arrays of the specified capacity and rebuilds the Fenwick tree in O(n).
+     */
+    private void rebuild(int capacity) {
+        merge(capacity, List.of());
+    }
+
+    /**
+     * Rebuilds the array with the specified tasks merged in by ID.
+     */
+    private void merge(List<Task> addedTasks) {
+        merge(Math.max(MIN_CAPACITY, (size + addedTasks.size()) * 2), addedTasks);
+    }
+
+    /**
+     * Moves all tasks, merged by ID with the specified tasks, to the front of new arrays of the specified capacity
+     * and rebuilds the Fenwick tree in O(n).
+     */
+    private void merge(int capacity, List<Task> addedTasks) {
+        Task[] newSlots = new Task[capacity];
+        long[] newSlotIds = new long[capacity];
+        int[] newTree = new int[capacity + 1];
+        int count = 0;
+        int nextAdded = 0;
+        for (int i = 0; i <= slotCount; i++) {
+            while (nextAdded < addedTasks.size()
+                    && (i == slotCount || addedTasks.get(nextAdded).getId() < slotIds[i])) {
+                newSlots[count] = addedTasks.get(nextAdded++);
+                newSlotIds[count] = newSlots[count].getId();
+                count++;
+                newTree[count] = 1;
+            }
+            if (i < slotCount && slots[i] != null) {
+                newSlots[count] = slots[i];
+                newSlotIds[count] = slotIds[i];
+                count++;
+                newTree[count] = 1;
+            }
+        }
+        for (int i = 1; i <= capacity; i++) {
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                newTree[parent] += newTree[i];
+            }
+        }
+        slots = newSlots;
+        slotIds = newSlotIds;
+        tree = newTree;
+        slotCount = count;
+        size = count;
+    }
+
+    private class SlotIterator implements Iterator<Task> {
+        private int nextSlot = skipEmpty(0);
+
+        @Override
+        public boolean hasNext() {
+            return nextSlot < slotCount;
+        }
+
+        @Override
+        public Task next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Task task = slots[nextSlot];
+            nextSlot = skipEmpty(nextSlot + 1);
+            return task;
+        }
+
+        private int skipEmpty(int slot) {
+            while (slot < slotCount && slots[slot] == null) {
+                slot++;
+            }
+            return slot;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package duke.components;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * An interval tree of tasks over time, for finding the tasks whose time span overlaps a window.
+ * <p>
+ * The tree is a treap ordered by the start of each span and then by task ID, where every node also records the
+ * latest end in its subtree. A query skips every subtree that ends before the window and every node that starts
+ * after it, so it visits O(log n) nodes for each task it reports. Random priorities keep the tree balanced in
+ * expectation, whatever order the tasks are added in. Times are kept as minutes since the epoch, the precision of
+ * task dates.
+ */
+final class IntervalIndex {
+    private final SplittableRandom random = new SplittableRandom(0x5EED);
+    private Node root;
+    private int size;
+
+    /**
+     * Adds a task with the specified time span.
+     *
+     * @param task The task to add.
+     * @param start The start of the span.
+     * @param end The end of the span, which is the same as the start for a point in time.
+     */
+    void add(Task task, LocalDateTime start, LocalDateTime end) {
+        root = insert(root, new Node(task, toEpochMinute(start), toEpochMinute(end), random.nextInt()));
+        size++;
+    }
+
+    /**
+     * Removes a task that was added with the specified start.
+     *
+     * @param task The task to remove.
+     * @param start The start the task was added with.
+     */
+    void remove(Task task, LocalDateTime start) {
+        int oldSize = size;
+        root = delete(root, toEpochMinute(start), task.getId());
+        assert size == oldSize - 1 : "Removed task was not in the index";
+    }
+
+    /**
+     * Adds the tasks whose span overlaps the window, including spans that only touch it, in order of their start.
+     *
+     * @param from The start of the window.
+     * @param to The end of the window.
+     * @param matches The list to add the tasks to.
+     */
+    void findOverlapping(LocalDateTime from, LocalDateTime to, List<Task> matches) {
+        collect(root, toEpochMinute(from), toEpochMinute(to), matches);
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static long toEpochMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static void collect(Node node, long from, long to, List<Task> matches) {
+        while (node != null && node.maxEnd >= from) {
+            collect(node.left, from, to, matches);
+            if (node.start > to) {
+                return;
+            }
+            if (node.end >= from) {
+                matches.add(node.task);
+            }
+            node = node.right;
+        }
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.updateMaxEnd();
+        return node;
+    }
+
+    private Node delete(Node node, long start, long id) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(start, id, node);
+        if (comparison < 0) {
+            node.left = delete(node.left, start, id);
+        } else if (comparison > 0) {
+            node.right = delete(node.right, start, id);
+        } else {
+            size--;
+            return merge(node.left, node.right);
+        }
+        node.updateMaxEnd();
+        return node;
+    }
+
+    /**
+     * Joins two subtrees where every node of the first comes before every node of the second.
+     */
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            first.updateMaxEnd();
+            return first;
+        }
+        second.left = merge(first, second.left);
+        second.updateMaxEnd();
+        return second;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node newRoot = node.left;
+        node.left = newRoot.right;
+        newRoot.right = node;
+        node.updateMaxEnd();
+        newRoot.updateMaxEnd();
+        return newRoot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node newRoot = node.right;
+        node.right = newRoot.left;
+        newRoot.left = node;
+        node.updateMaxEnd();
+        newRoot.updateMaxEnd();
+        return newRoot;
+    }
+
+    private static int compare(long start, long id, Node node) {
+        int comparison = Long.compare(start, node.start);
+        return comparison != 0 ? comparison : Long.compare(id, node.id);
+    }
+
+    private static final class Node {
+        private final Task task;
+        private final long start;
+        private final long end;
+        private final long id;
+        private final int priority;
+        private long maxEnd;
+        private Node left;
+        private Node right;
+
+        Node(Task task, long start, long end, int priority) {
+            this.task = task;
+            this.start = start;
+            this.end = end;
+            this.id = task.getId();
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        void updateMaxEnd() {
+            long max = end;
+            if (left != null && left.maxEnd > max) {
+                max = left.maxEnd;
+            }
+            if (right != null && right.maxEnd > max) {
+                max = right.maxEnd;
+            }
+            maxEnd = max;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package duke.components;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An inverted index from the whitespace-separated tokens of task descriptions to the tasks containing them.
+ * <p>
+ * Lookups keep the substring semantics of {@link String#contains}: a keyword without whitespace can only occur
+ * inside a single token, so the matching tasks are those indexed under a token that contains the keyword.
+ * Tokens are further indexed by their trigrams, so that finding the tokens that contain a keyword does not
+ * require scanning the whole vocabulary.
+ * <p>
+ * Most tokens occur in a single task, such as numbers and names, so a token maps directly to its task until a
+ * second task contains it, and only then to a set of tasks. This keeps bulk imports from allocating a set per
+ * token.
+ */
+final class KeywordIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    /** Maps each token to the task containing it, or to the {@code Set<Task>} of tasks if there are several. */
+    private final Map<String, Object> tasksByToken = new HashMap<>();
+    private final Map<String, Set<String>> tokensByGram = new HashMap<>();
+
+    /**
+     * Indexes the description of the specified task.
+     *
+     * @param task The task to index.
+     */
+    void add(Task task) {
+        for (String token : tokenize(task.getDescription())) {
+            Object entry = tasksByToken.get(token);
+            if (entry == null) {
+                tasksByToken.put(token, task);
+                addGrams(token);
+            } else if (entry instanceof Task) {
+                if (entry != task) {
+                    Set<Task> tasks = new HashSet<>();
+                    tasks.add((Task) entry);
+                    tasks.add(task);
+                    tasksByToken.put(token, tasks);
+                }
+            } else {
+                asSet(entry).add(task);
+            }
+        }
+    }
+
+    /**
+     * Removes the specified task from the index.
+     *
+     * @param task The task to remove.
+     */
+    void remove(Task task) {
+        for (String token : tokenize(task.getDescription())) {
+            Object entry = tasksByToken.get(token);
+            if (entry == task) {
+                tasksByToken.remove(token);
+                removeGrams(token);
+            } else if (entry instanceof Set) {
+                Set<Task> tasks = asSet(entry);
+                tasks.remove(task);
+                if (tasks.size() == 1) {
+                    tasksByToken.put(token, tasks.iterator().next());
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the tasks whose description contains the keyword, in list order.
+     *
+     * @param keyword The keyword to search for.
+     * @return The matching tasks, or null if the keyword has no non-whitespace characters and cannot be
+     *         answered from the index.
+     */
+    List<Task> find(String keyword) {
+        String longestSegment = "";
+        for (String segment : tokenize(keyword)) {
+            if (segment.length() > longestSegment.length()) {
+                longestSegment = segment;
+            }
+        }
+        if (longestSegment.isEmpty()) {
+            return null;
+        }
+
+        boolean isSingleToken = longestSegment.length() == keyword.length();
+        List<Task> matches = new ArrayList<>();
+        for (String token : findTokensContaining(longestSegment)) {
+            Object entry = tasksByToken.get(token);
+            if (entry instanceof Task) {
+                addIfContains(matches, (Task) entry, keyword, isSingleToken);
+                continue;
+            }
+            for (Task task : asSet(entry)) {
+                addIfContains(matches, task, keyword, isSingleToken);
+            }
+        }
+        matches.sort(Task.BY_LIST_ORDER);
+        removeAdjacentDuplicates(matches);
+        return matches;
+    }
+
+    private static void addIfContains(List<Task> matches, Task task, String keyword, boolean isKnownToContain) {
+        if (isKnownToContain || task.getDescription().contains(keyword)) {
+            matches.add(task);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<Task> asSet(Object entry) {
+        return (Set<Task>) entry;
+    }
+
+    private Collection<String> findTokensContaining(String segment) {
+        if (segment.length() < GRAM_LENGTH) {
+            return filterContaining(tasksByToken.keySet(), segment);
+        }
+        Set<String> rarest = null;
+        for (int i = 0; i + GRAM_LENGTH <= segment.length(); i++) {
+            Set<String> tokens = tokensByGram.get(segment.substring(i, i + GRAM_LENGTH));
+            if (tokens == null) {
+                return Collections.emptyList();
+            }
+            if (rarest == null || tokens.size() < rarest.size()) {
+                rarest = tokens;
+            }
+        }
+        return filterContaining(rarest, segment);
+    }
+
+    private static List<String> filterContaining(Collection<String> tokens, String segment) {
+        List<String> matches = new ArrayList<>();
+        for (String token : tokens) {
+            if (token.contains(segment)) {
+                matches.add(token);
+            }
+        }
+        return matches;
+    }
+
+    private void addGrams(String token) {
+        for (int i = 0; i + GRAM_LENGTH <= token.length(); i++) {
+            tokensByGram.computeIfAbsent(token.substring(i, i + GRAM_LENGTH), gram -> new HashSet<>()).add(token);
+        }
+    }
+
+    private void removeGrams(String token) {
+        for (int i = 0; i + GRAM_LENGTH <= token.length(); i++) {
+            String gram = token.substring(i, i + GRAM_LENGTH);
+            Set<String> tokens = tokensByGram.get(gram);
+            if (tokens != null) {
+                tokens.remove(token);
+                if (tokens.isEmpty()) {
+                    tokensByGram.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits the text into its distinct whitespace-separated tokens.
+     */
+    private static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isBoundary = i == text.length() || Character.isWhitespace(text.charAt(i));
+            if (isBoundary && start >= 0) {
+                tokens.add(text.substring(start, i));
+                start = -1;
+            } else if (!isBoundary && start < 0) {
+                start = i;
+            }
+        }
+        return tokens;
+    }
+
+    private static void removeAdjacentDuplicates(List<Task> sortedTasks) {
+        int kept = 0;
+        for (int i = 0; i < sortedTasks.size(); i++) {
+            if (kept == 0 || sortedTasks.get(kept - 1) != sortedTasks.get(i)) {
+                sortedTasks.set(kept++, sortedTasks.get(i));
+            }
+        }
+        sortedTasks.subList(kept, sortedTasks.size()).clear();
+    }
+}
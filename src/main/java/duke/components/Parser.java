@@ -1,38 +1,278 @@
 package duke.components;
 
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
 import duke.exceptions.*;
 
 /**
  * Parses user commands.
+ * <p>
+ * The input is scanned once with {@link String#indexOf}, without regular expressions. The command word is
+ * looked up in place, and dates in the usual "d/M/yyyy HHmm" form are read digit by digit.
  */
 public class Parser {
+    private static final String BY_DELIMITER = " /by ";
+    private static final String FROM_DELIMITER = " /from ";
+    private static final String TO_DELIMITER = " /to ";
+    private static final String[] DEADLINE_DELIMITERS = { BY_DELIMITER };
+    private static final String[] EVENT_DELIMITERS = { FROM_DELIMITER, TO_DELIMITER };
+    private static final String[] AGENDA_DELIMITERS = { TO_DELIMITER };
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("d/M/yyyy");
+    private static final LocalTime END_OF_DAY = LocalTime.of(23, 59);
+
     /**
-     * Parses the given full command string and splits it into the command word and its arguments.
+     * Parses the given full command string into a command.
      *
      * @param fullCommand The full command string to be parsed.
-     * @return A string array where the first element is the command word and the second element is the command arguments.
+     * @return The command, with the fields of the new task parsed for commands that add a task.
      * @throws UnknownCommandException If the command word is not recognized.
+     * @throws EmptyDescriptionException If a task to be added is missing its description or dates.
+     * @throws InvalidDateFormatException If a date of a task to be added or of a query is invalid.
+     * @throws MissingDateException If a query by date has no date.
+     * @throws InvalidDateRangeException If a query by date range starts after it ends.
      */
-    public static String[] parse(String fullCommand) throws UnknownCommandException {
-        String[] commandParts = fullCommand.split(" ", 2);
-        String commandWord = commandParts[0];
-        String commandArgs = commandParts.length > 1 ? commandParts[1] : "";
-
-        switch (commandWord) {
-        case "bye":
-        case "list":
-        case "mark":
-        case "unmark":
-        case "todo":
-        case "deadline":
-        case "event":
-        case "delete":
-        case "find":
-        case "tag":
-        case "untag":
-            return new String[] { commandWord, commandArgs };
-        default:
+    public static Command parse(String fullCommand) throws AdventureGuideException {
+        int separator = fullCommand.indexOf(' ');
+        int wordLength = separator < 0 ? fullCommand.length() : separator;
+        CommandType type = CommandType.lookUp(fullCommand, wordLength);
+        if (type == null) {
             throw new UnknownCommandException();
         }
+        String commandArgs = separator < 0 ? "" : fullCommand.substring(separator + 1);
+        return parseArguments(type, commandArgs);
+    }
+
+    /**
+     * Parses the arguments of a command of the specified type.
+     *
+     * @param type The type of the command.
+     * @param args The arguments following the command word.
+     * @return The command.
+     * @throws EmptyDescriptionException If a task to be added is missing its description or dates.
+     * @throws InvalidDateFormatException If a date of a task to be added or of a query is invalid.
+     * @throws MissingDateException If a query by date has no date.
+     * @throws InvalidDateRangeException If a query by date range starts after it ends.
+     */
+    public static Command parseArguments(CommandType type, String args) throws EmptyDescriptionException,
+            InvalidDateFormatException, MissingDateException, InvalidDateRangeException {
+        switch (type) {
+        case TODO:
+            return parseTodo(args);
+        case DEADLINE:
+            return parseDeadline(args);
+        case EVENT:
+            return parseEvent(args);
+        case DUE:
+            return parseDue(args);
+        case AGENDA:
+            return parseAgenda(args);
+        default:
+            return new Command(type, args);
+        }
+    }
+
+    /**
+     * Parses the arguments of a todo command.
+     *
+     * @param args The description of the todo.
+     * @return The command.
+     * @throws EmptyDescriptionException If the description is empty.
+     */
+    public static Command parseTodo(String args) throws EmptyDescriptionException {
+        if (args.isEmpty()) {
+            throw new EmptyDescriptionException(CommandType.TODO.getWord());
+        }
+        return new Command(CommandType.TODO, args, args, null, null);
+    }
+
+    /**
+     * Parses the arguments of a deadline command, in the form "description /by d/M/yyyy HHmm".
+     *
+     * @param args The description and due date of the deadline.
+     * @return The command.
+     * @throws EmptyDescriptionException If the description or due date is missing.
+     * @throws InvalidDateFormatException If the due date is invalid.
+     */
+    public static Command parseDeadline(String args) throws EmptyDescriptionException, InvalidDateFormatException {
+        String[] fields = splitFields(args, DEADLINE_DELIMITERS, 2);
+        validateFields(fields, CommandType.DEADLINE);
+        LocalDateTime by = parseDateTime(fields[1], Deadline.getInputFormatter());
+        return new Command(CommandType.DEADLINE, args, fields[0], by, null);
+    }
+
+    /**
+     * Parses the arguments of an event command, in the form "description /from d/M/yyyy HHmm /to d/M/yyyy HHmm".
+     *
+     * @param args The description, start and end of the event.
+     * @return The command.
+     * @throws EmptyDescriptionException If the description, start or end is missing.
+     * @throws InvalidDateFormatException If the start or end is invalid.
+     */
+    public static Command parseEvent(String args) throws EmptyDescriptionException, InvalidDateFormatException {
+        String[] fields = splitFields(args, EVENT_DELIMITERS, 3);
+        validateFields(fields, CommandType.EVENT);
+        LocalDateTime from = parseDateTime(fields[1], Event.getInputFormatter());
+        LocalDateTime to = parseDateTime(fields[2], Event.getInputFormatter());
+        return new Command(CommandType.EVENT, args, fields[0], from, to);
+    }
+
+    /**
+     * Parses the arguments of a due command, a date in the form "d/M/yyyy".
+     *
+     * @param args The date.
+     * @return The command, spanning the whole day.
+     * @throws MissingDateException If the date is missing.
+     * @throws InvalidDateFormatException If the date is invalid.
+     */
+    public static Command parseDue(String args) throws MissingDateException, InvalidDateFormatException {
+        String date = args.trim();
+        if (date.isEmpty()) {
+            throw new MissingDateException(CommandType.DUE.getWord());
+        }
+        LocalDate day = parseDate(date);
+        return new Command(CommandType.DUE, args, null, day.atStartOfDay(), day.atTime(END_OF_DAY));
+    }
+
+    /**
+     * Parses the arguments of an agenda command, in the form "start /to end". The start and end are each a date
+     * in the form "d/M/yyyy", optionally followed by a time "HHmm". A start without a time is the beginning of
+     * its day and an end without a time is the end of its day. Without an end, the agenda covers the rest of the
+     * day of the start.
+     *
+     * @param args The start and end of the agenda.
+     * @return The command.
+     * @throws MissingDateException If the start is missing.
+     * @throws InvalidDateFormatException If the start or end is invalid.
+     * @throws InvalidDateRangeException If the start is after the end.
+     */
+    public static Command parseAgenda(String args)
+            throws MissingDateException, InvalidDateFormatException, InvalidDateRangeException {
+        String[] fields = splitFields(args, AGENDA_DELIMITERS, 2);
+        if (fields[0].isEmpty() || (fields[1] != null && fields[1].isEmpty())) {
+            throw new MissingDateException(CommandType.AGENDA.getWord());
+        }
+        LocalDateTime from = parseBoundary(fields[0], false);
+        LocalDateTime to = fields[1] == null ? from.toLocalDate().atTime(END_OF_DAY) : parseBoundary(fields[1], true);
+        if (from.isAfter(to)) {
+            throw new InvalidDateRangeException();
+        }
+        return new Command(CommandType.AGENDA, args, null, from, to);
+    }
+
+    /**
+     * Parses a date with an optional time. A date alone is the start of its day, or its end if it ends a range.
+     */
+    private static LocalDateTime parseBoundary(String text, boolean isEnd) throws InvalidDateFormatException {
+        if (text.indexOf(' ') >= 0) {
+            return parseDateTime(text, Event.getInputFormatter());
+        }
+        LocalDate day = parseDate(text);
+        return isEnd ? day.atTime(END_OF_DAY) : day.atStartOfDay();
+    }
+
+    private static LocalDate parseDate(String text) throws InvalidDateFormatException {
+        try {
+            return LocalDate.parse(text, DATE_FORMATTER);
+        } catch (DateTimeParseException e) {
+            throw new InvalidDateFormatException();
+        }
+    }
+
+    /**
+     * Splits the text at every occurrence of any of the delimiters and returns the first fields, trimmed.
+     * Fields beyond the text are null.
+     */
+    private static String[] splitFields(String text, String[] delimiters, int fieldCount) {
+        String[] fields = new String[fieldCount];
+        int fieldStart = 0;
+        for (int i = 0; i < fieldCount && fieldStart <= text.length(); i++) {
+            int fieldEnd = text.length();
+            int delimiterLength = 0;
+            for (String delimiter : delimiters) {
+                int position = text.indexOf(delimiter, fieldStart);
+                if (position >= 0 && position < fieldEnd) {
+                    fieldEnd = position;
+                    delimiterLength = delimiter.length();
+                }
+            }
+            fields[i] = text.substring(fieldStart, fieldEnd).trim();
+            fieldStart = delimiterLength == 0 ? text.length() + 1 : fieldEnd + delimiterLength;
+        }
+        return fields;
+    }
+
+    private static void validateFields(String[] fields, CommandType type) throws EmptyDescriptionException {
+        for (String field : fields) {
+            if (field == null || field.isEmpty()) {
+                throw new EmptyDescriptionException(type.getWord());
+            }
+        }
+    }
+
+    /**
+     * Parses a date and time in the format "d/M/yyyy HHmm". Dates in exactly that form are read directly;
+     * anything else goes through the formatter, which also resolves edge cases such as "2400" the same way as
+     * before.
+     */
+    private static LocalDateTime parseDateTime(String text, DateTimeFormatter formatter)
+            throws InvalidDateFormatException {
+        LocalDateTime dateTime = readPlainDateTime(text);
+        if (dateTime != null) {
+            return dateTime;
+        }
+        try {
+            return LocalDateTime.parse(text, formatter);
+        } catch (DateTimeParseException e) {
+            throw new InvalidDateFormatException();
+        }
+    }
+
+    /**
+     * Reads a date with a 1 or 2 digit day and month, a 4 digit year and a 4 digit time.
+     *
+     * @return The date and time, or null if the text is not in that form or is not a valid date.
+     */
+    private static LocalDateTime readPlainDateTime(String text) {
+        int dayEnd = text.indexOf('/');
+        int monthEnd = text.indexOf('/', dayEnd + 1);
+        int yearEnd = monthEnd + 5;
+        if (dayEnd < 1 || dayEnd > 2 || monthEnd - dayEnd < 2 || monthEnd - dayEnd > 3
+                || text.length() != yearEnd + 5 || text.charAt(yearEnd) != ' ') {
+            return null;
+        }
+        int day = readNumber(text, 0, dayEnd);
+        int month = readNumber(text, dayEnd + 1, monthEnd);
+        int year = readNumber(text, monthEnd + 1, yearEnd);
+        int hour = readNumber(text, yearEnd + 1, yearEnd + 3);
+        int minute = readNumber(text, yearEnd + 3, yearEnd + 5);
+        // The formatter reads the year as a year of the era, which starts at 1.
+        if (day < 0 || month < 0 || year < 1 || hour < 0 || minute < 0) {
+            return null;
+        }
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the decimal number in the region of the text, or -1 if the region contains a non-digit.
+     */
+    private static int readNumber(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
     }
-}
\ No newline at end of file
+}
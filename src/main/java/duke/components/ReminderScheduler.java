@@ -0,0 +1,252 @@
+package duke.components;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Reminds the user of deadlines that are coming up and events that are about to start.
+ * <p>
+ * Every task that is not done and has a date in the future gets one reminder, a lead time before its deadline
+ * or start. The reminders are kept in a queue ordered by the time they fire, and a single timer thread only ever
+ * waits for the earliest of them, so any number of pending reminders costs one thread and one scheduled timer.
+ * The scheduler listens to its {@link TaskList}: adding, marking, unmarking and deleting tasks updates the queue
+ * in O(log n) per task, and the timer is only replaced when the earliest reminder changes.
+ * <p>
+ * A reminder whose time has already passed when it is scheduled, because its task was added or unmarked within
+ * the lead time, fires right away. Each reminder fires once, on the timer thread. Updates that leave the due time
+ * and the done state of a task alone, such as tagging it, do not bring back a reminder that has fired.
+ */
+public class ReminderScheduler implements TaskListListener, AutoCloseable {
+    /** How long before a deadline or the start of an event its reminder fires, unless specified otherwise. */
+    public static final Duration DEFAULT_LEAD_TIME = Duration.ofHours(1);
+
+    private static final Comparator<Reminder> BY_FIRE_TIME = Comparator
+            .comparingLong((Reminder reminder) -> reminder.fireMillis)
+            .thenComparingLong(reminder -> reminder.task.getId());
+
+    private final TaskList tasks;
+    private final long leadMillis;
+    private final Clock clock;
+    private final Consumer<Reminder> onReminder;
+    private final ScheduledThreadPoolExecutor timer;
+    private final TreeSet<Reminder> queue = new TreeSet<>(BY_FIRE_TIME);
+    private final Map<Long, Reminder> remindersByTaskId = new HashMap<>();
+    private final Map<Long, Long> firedDueMillisByTaskId = new HashMap<>();
+
+    private ScheduledFuture<?> nextFiring;
+    private long nextFiringMillis;
+    private boolean isClosed;
+
+    /**
+     * Constructs a scheduler for the tasks in the specified list, using the system clock.
+     *
+     * @param tasks The task list to remind the user of.
+     * @param leadTime How long before a deadline or the start of an event its reminder fires.
+     * @param onReminder The callback that receives each reminder, run on the timer thread.
+     */
+    public ReminderScheduler(TaskList tasks, Duration leadTime, Consumer<Reminder> onReminder) {
+        this(tasks, leadTime, onReminder, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructs a scheduler for the tasks in the specified list.
+     *
+     * @param tasks The task list to remind the user of.
+     * @param leadTime How long before a deadline or the start of an event its reminder fires.
+     * @param onReminder The callback that receives each reminder, run on the timer thread.
+     * @param clock The clock that gives the current time and the time zone of the task dates.
+     */
+    public ReminderScheduler(TaskList tasks, Duration leadTime, Consumer<Reminder> onReminder, Clock clock) {
+        this.tasks = tasks;
+        this.leadMillis = leadTime.toMillis();
+        this.onReminder = onReminder;
+        this.clock = clock;
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "reminder-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        tasks.addListener(this);
+    }
+
+    @Override
+    public synchronized void tasksAdded(List<Task> addedTasks) {
+        for (Task task : addedTasks) {
+            schedule(task);
+        }
+        updateTimer();
+    }
+
+    @Override
+    public synchronized void tasksRemoved(List<Task> removedTasks) {
+        for (Task task : removedTasks) {
+            unschedule(task);
+            firedDueMillisByTaskId.remove(task.getId());
+        }
+        updateTimer();
+    }
+
+    @Override
+    public synchronized void tasksUpdated(List<Task> updatedTasks) {
+        for (Task task : updatedTasks) {
+            schedule(task);
+        }
+        updateTimer();
+    }
+
+    /**
+     * Returns the number of reminders that have not fired yet.
+     */
+    public synchronized int getPendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * Stops listening to the task list and stops the timer thread. Pending reminders no longer fire.
+     */
+    @Override
+    public void close() {
+        tasks.removeListener(this);
+        synchronized (this) {
+            isClosed = true;
+            queue.clear();
+            remindersByTaskId.clear();
+            firedDueMillisByTaskId.clear();
+        }
+        timer.shutdownNow();
+    }
+
+    /**
+     * Replaces the reminder of the task, if any, with one for its current state, unless the reminder for that
+     * state has already fired.
+     */
+    private void schedule(Task task) {
+        unschedule(task);
+        LocalDateTime due = getDueDateTime(task);
+        if (due == null || task.isDone()) {
+            firedDueMillisByTaskId.remove(task.getId());
+            return;
+        }
+        long dueMillis = due.atZone(clock.getZone()).toInstant().toEpochMilli();
+        Long firedDueMillis = firedDueMillisByTaskId.get(task.getId());
+        if (firedDueMillis != null && firedDueMillis == dueMillis) {
+            return;
+        }
+        firedDueMillisByTaskId.remove(task.getId());
+        if (dueMillis <= clock.millis()) {
+            return;
+        }
+        Reminder reminder = new Reminder(task, due, dueMillis, dueMillis - leadMillis);
+        queue.add(reminder);
+        remindersByTaskId.put(task.getId(), reminder);
+    }
+
+    private void unschedule(Task task) {
+        Reminder reminder = remindersByTaskId.remove(task.getId());
+        if (reminder != null) {
+            queue.remove(reminder);
+        }
+    }
+
+    private static LocalDateTime getDueDateTime(Task task) {
+        if (task instanceof Deadline) {
+            return ((Deadline) task).getByDateTime();
+        } else if (task instanceof Event) {
+            return ((Event) task).getFromDateTime();
+        }
+        return null;
+    }
+
+    /**
+     * Points the timer at the earliest reminder, leaving it alone if it already is.
+     */
+    private void updateTimer() {
+        if (isClosed) {
+            return;
+        }
+        if (queue.isEmpty()) {
+            cancelTimer();
+            return;
+        }
+        long firstMillis = queue.first().fireMillis;
+        if (nextFiring != null && nextFiringMillis == firstMillis) {
+            return;
+        }
+        cancelTimer();
+        long delay = Math.max(0, firstMillis - clock.millis());
+        nextFiring = timer.schedule(this::fireDueReminders, delay, TimeUnit.MILLISECONDS);
+        nextFiringMillis = firstMillis;
+    }
+
+    private void cancelTimer() {
+        if (nextFiring != null) {
+            nextFiring.cancel(false);
+            nextFiring = null;
+        }
+    }
+
+    /**
+     * Removes the reminders that are due from the queue and hands them to the callback outside the lock, so that
+     * a slow callback does not hold up changes to the task list.
+     */
+    private void fireDueReminders() {
+        List<Reminder> dueReminders = new ArrayList<>();
+        synchronized (this) {
+            nextFiring = null;
+            long now = clock.millis();
+            while (!queue.isEmpty() && queue.first().fireMillis <= now) {
+                Reminder reminder = queue.pollFirst();
+                remindersByTaskId.remove(reminder.task.getId());
+                firedDueMillisByTaskId.put(reminder.task.getId(), reminder.dueMillis);
+                dueReminders.add(reminder);
+            }
+            updateTimer();
+        }
+        for (Reminder reminder : dueReminders) {
+            onReminder.accept(reminder);
+        }
+    }
+
+    /**
+     * A reminder of a deadline or an event.
+     */
+    public static final class Reminder {
+        private final Task task;
+        private final LocalDateTime dueDateTime;
+        private final long dueMillis;
+        private final long fireMillis;
+
+        private Reminder(Task task, LocalDateTime dueDateTime, long dueMillis, long fireMillis) {
+            this.task = task;
+            this.dueDateTime = dueDateTime;
+            this.dueMillis = dueMillis;
+            this.fireMillis = fireMillis;
+        }
+
+        /**
+         * Returns the deadline or event the reminder is for.
+         */
+        public Task getTask() {
+            return task;
+        }
+
+        /**
+         * Returns when the deadline is due or the event starts.
+         */
+        public LocalDateTime getDueDateTime() {
+            return dueDateTime;
+        }
+    }
+}
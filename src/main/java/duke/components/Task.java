@@ -1,12 +1,21 @@
 package duke.components;
 
+import java.util.Comparator;
+
 /**
  * Represents a task with a description, optional tag and completion status.
+ * The mutable fields are volatile, so that a change made by one thread is seen by every other thread.
  */
 public class Task {
-    protected String description;
-    protected boolean isDone;
-    protected String tag;
+    /** Orders tasks by their position in the owning TaskList, which follows the order of their IDs. */
+    static final Comparator<Task> BY_LIST_ORDER = Comparator.comparingLong(Task::getId);
+    /** The ID of a task that has not been added to a TaskList yet. */
+    public static final long NO_ID = -1;
+
+    protected final String description;
+    protected volatile boolean isDone;
+    protected volatile String tag;
+    private volatile long id = NO_ID;
 
     /**
      * Constructs a Task object with the specified description.
@@ -81,6 +90,25 @@ public class Task {
         this.tag = tag;
     }
 
+    /**
+     * Returns the stable ID of the task, which does not change when other tasks are removed.
+     *
+     * @return The ID assigned by the owning TaskList, or {@link #NO_ID} if the task has not been added to one.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Sets the ID of the task. Used by TaskList when the task is added, and by storage when restoring a task
+     * with the ID it had when it was saved.
+     *
+     * @param id The ID of the task.
+     */
+    public void setId(long id) {
+        this.id = id;
+    }
+
     @Override
     public String toString() {
         return "[" + getStatusIcon() + "] " + description + (tag == null ? "" : " #" + tag);
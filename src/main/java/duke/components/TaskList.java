@@ -1,28 +1,72 @@
 package duke.components;
 
+import java.time.LocalDateTime;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 
 /**
  * Represents a list of tasks.
+ * Every task gets a stable ID when it is added, and the tasks are kept in an {@link IndexedTaskArray}, so that
+ * tasks can be looked up and removed by position or by ID in O(log n).
+ * The descriptions of the tasks are kept in a keyword index, so that {@link #findTasks(String)} does not have to
+ * scan every task, and tasks are grouped by tag for {@link #findTasksByTag(String)}. Deadlines and events are
+ * kept in interval trees over their dates, so that the tasks in a window of time are found in O(log n) per task.
+ * Tags of tasks in the list should be changed through {@link #tagTask} and {@link #untagTask} to keep the
+ * grouping up to date.
+ * <p>
+ * A TaskList can be shared between threads. Reads hold a shared lock, so any number of them run in parallel,
+ * while changes hold an exclusive lock. Compound changes such as {@link #markTask(int)} and
+ * {@link #removeTask(int)} look up and change a task in one step, so no other change can come in between.
+ * Changes are reported to the registered {@link TaskListListener}s while the lock is still held.
  */
 public class TaskList {
-    private List<Task> tasks;
+    private final IndexedTaskArray tasks = new IndexedTaskArray();
+    private final KeywordIndex keywordIndex = new KeywordIndex();
+    private final Map<String, TreeSet<Task>> tasksByTag = new HashMap<>();
+    private final IntervalIndex deadlineIndex = new IntervalIndex();
+    private final IntervalIndex eventIndex = new IntervalIndex();
+    private final List<TaskListListener> listeners = new CopyOnWriteArrayList<>();
+    private final Lock readLock;
+    private final Lock writeLock;
+    private long nextId = 1;
 
     /**
      * Constructs an empty TaskList.
      */
     public TaskList() {
-        this.tasks = new ArrayList<>();
+        ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        readLock = lock.readLock();
+        writeLock = lock.writeLock();
     }
 
     /**
      * Constructs a TaskList with the specified list of tasks.
+     * Tasks keep their IDs as long as the IDs increase along the list; other tasks are given new IDs.
      *
-     * @param tasks The list of tasks.
+     * @param initialTasks The list of tasks.
      */
-    public TaskList(List<Task> tasks) {
-        this.tasks = tasks;
+    public TaskList(List<Task> initialTasks) {
+        this();
+        for (Task task : initialTasks) {
+            if (task.getId() < nextId) {
+                task.setId(nextId);
+            }
+            nextId = task.getId() + 1;
+            tasks.append(task);
+            index(task);
+        }
     }
 
     /**
@@ -31,7 +75,42 @@ public class TaskList {
      * @param task The task to add.
      */
     public void addTask(Task task) {
-        tasks.add(task);
+        writeLock.lock();
+        try {
+            task.setId(nextId++);
+            tasks.append(task);
+            index(task);
+            notifyAdded(List.of(task));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Registers a listener for the changes made to the list. The listener is first told about the tasks already
+     * in the list through {@link TaskListListener#tasksAdded}, in the same step, so it misses no change.
+     *
+     * @param listener The listener to register.
+     */
+    public void addListener(TaskListListener listener) {
+        writeLock.lock();
+        try {
+            if (tasks.size() > 0) {
+                listener.tasksAdded(new ArrayList<>(tasks.asList()));
+            }
+            listeners.add(listener);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Unregisters a listener registered with {@link #addListener}.
+     *
+     * @param listener The listener to unregister.
+     */
+    public void removeListener(TaskListListener listener) {
+        listeners.remove(listener);
     }
 
     /**
@@ -41,16 +120,119 @@ public class TaskList {
      * @return The task at the specified index.
      */
     public Task getTask(int index) {
-        return tasks.get(index);
+        readLock.lock();
+        try {
+            return tasks.get(index);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the task with the specified ID.
+     *
+     * @param id The ID of the task.
+     * @return The task with the ID, or null if there is none.
+     */
+    public Task getTaskById(long id) {
+        readLock.lock();
+        try {
+            int index = tasks.positionOf(id);
+            return index < 0 ? null : tasks.get(index);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the index of the task with the specified ID.
+     *
+     * @param id The ID of the task.
+     * @return The index of the task, or -1 if there is none.
+     */
+    public int indexOfId(long id) {
+        readLock.lock();
+        try {
+            return tasks.positionOf(id);
+        } finally {
+            readLock.unlock();
+        }
     }
 
     /**
      * Returns the list of tasks.
+     * Each call on the view takes the read lock, and iterating over the view goes through a snapshot taken
+     * when the iterator is created, so iteration is never affected by concurrent changes.
      *
-     * @return The list of tasks.
+     * @return A read-only view of the list of tasks.
      */
     public List<Task> getTasks() {
-        return tasks;
+        return new AbstractList<>() {
+            @Override
+            public Task get(int index) {
+                return getTask(index);
+            }
+
+            @Override
+            public int size() {
+                return TaskList.this.size();
+            }
+
+            @Override
+            public Iterator<Task> iterator() {
+                return snapshot().iterator();
+            }
+        };
+    }
+
+    /**
+     * Returns a copy of the tasks as they are at the time of the call.
+     *
+     * @return The tasks in list order.
+     */
+    public List<Task> snapshot() {
+        readLock.lock();
+        try {
+            return new ArrayList<>(tasks.asList());
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Marks the task at the specified index as done.
+     *
+     * @param index The index of the task.
+     * @return The marked task.
+     */
+    public Task markTask(int index) {
+        writeLock.lock();
+        try {
+            Task task = tasks.get(index);
+            task.markAsDone();
+            notifyUpdated(List.of(task));
+            return task;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Marks the task at the specified index as not done.
+     *
+     * @param index The index of the task.
+     * @return The unmarked task.
+     */
+    public Task unmarkTask(int index) {
+        writeLock.lock();
+        try {
+            Task task = tasks.get(index);
+            task.markAsNotDone();
+            notifyUpdated(List.of(task));
+            return task;
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     /**
@@ -60,7 +242,227 @@ public class TaskList {
      * @return The removed task.
      */
     public Task removeTask(int index) {
-        return tasks.remove(index);
+        writeLock.lock();
+        try {
+            Task removedTask = tasks.remove(index);
+            unindex(removedTask);
+            notifyRemoved(List.of(removedTask));
+            return removedTask;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the tasks at the specified indices in one step.
+     *
+     * @param indices The distinct indices of the tasks to remove, in increasing order.
+     * @return The removed tasks, in list order.
+     */
+    public List<Task> removeTasks(int[] indices) {
+        writeLock.lock();
+        try {
+            List<Task> removedTasks = List.of(tasks.removeAll(indices));
+            for (Task task : removedTasks) {
+                unindex(task);
+            }
+            notifyRemoved(removedTasks);
+            return removedTasks;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Puts removed tasks back into the list in one step, as undoing their removal does. The tasks keep their IDs,
+     * so each goes back to the position its ID gives it among the other tasks.
+     *
+     * @param restoredTasks The tasks to put back, in increasing order of ID. No task in the list may have the
+     *                      same ID as one of them.
+     * @return The indices of the tasks in the list, in increasing order.
+     */
+    public int[] restoreTasks(List<Task> restoredTasks) {
+        writeLock.lock();
+        try {
+            tasks.restoreAll(restoredTasks);
+            int[] indices = new int[restoredTasks.size()];
+            for (int i = 0; i < indices.length; i++) {
+                Task task = restoredTasks.get(i);
+                indices[i] = tasks.positionOf(task.getId());
+                nextId = Math.max(nextId, task.getId() + 1);
+                index(task);
+            }
+            notifyAdded(restoredTasks);
+            return indices;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Sets whether each of the tasks at the specified indices is done, and optionally their tags, in one step,
+     * as undoing and redoing changes does.
+     *
+     * @param indices The indices of the tasks.
+     * @param doneTasks The positions within {@code indices} of the tasks that are done. The others are not done.
+     * @param tags The tags of the tasks in the order of the indices, with null for no tag, or null to leave the
+     *             tags unchanged.
+     * @return The updated tasks, in the order of the indices.
+     */
+    public List<Task> setStates(int[] indices, BitSet doneTasks, String[] tags) {
+        int[] next = new int[1];
+        return updateTasks(indices, task -> {
+            int i = next[0]++;
+            if (doneTasks.get(i)) {
+                task.markAsDone();
+            } else {
+                task.markAsNotDone();
+            }
+            if (tags != null) {
+                removeFromTagIndex(task);
+                task.setTag(tags[i]);
+                addToTagIndex(task);
+            }
+        });
+    }
+
+    /**
+     * Marks the tasks at the specified indices as done in one step.
+     *
+     * @param indices The indices of the tasks.
+     * @return The marked tasks, in the order of the indices.
+     */
+    public List<Task> markTasks(int[] indices) {
+        return updateTasks(indices, Task::markAsDone);
+    }
+
+    /**
+     * Marks the tasks at the specified indices as not done in one step.
+     *
+     * @param indices The indices of the tasks.
+     * @return The unmarked tasks, in the order of the indices.
+     */
+    public List<Task> unmarkTasks(int[] indices) {
+        return updateTasks(indices, Task::markAsNotDone);
+    }
+
+    /**
+     * Sets the tag of the tasks at the specified indices in one step, replacing any existing tags.
+     *
+     * @param indices The indices of the tasks.
+     * @param tag The new tag.
+     * @return The tagged tasks, in the order of the indices.
+     */
+    public List<Task> tagTasks(int[] indices, String tag) {
+        return updateTasks(indices, task -> {
+            removeFromTagIndex(task);
+            task.setTag(tag);
+            addToTagIndex(task);
+        });
+    }
+
+    /**
+     * Removes the tags of the tasks at the specified indices in one step.
+     *
+     * @param indices The indices of the tasks.
+     * @return The untagged tasks, in the order of the indices.
+     */
+    public List<Task> untagTasks(int[] indices) {
+        return updateTasks(indices, task -> {
+            removeFromTagIndex(task);
+            task.setTag(null);
+        });
+    }
+
+    private List<Task> updateTasks(int[] indices, Consumer<Task> update) {
+        writeLock.lock();
+        try {
+            List<Task> updatedTasks = new ArrayList<>(indices.length);
+            for (int index : indices) {
+                updatedTasks.add(tasks.get(index));
+            }
+            for (Task task : updatedTasks) {
+                update.accept(task);
+            }
+            notifyUpdated(updatedTasks);
+            return updatedTasks;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Sets the tag of the task at the specified index, replacing any existing tag.
+     *
+     * @param index The index of the task.
+     * @param tag The new tag.
+     * @return The tagged task.
+     */
+    public Task tagTask(int index, String tag) {
+        writeLock.lock();
+        try {
+            Task task = tasks.get(index);
+            removeFromTagIndex(task);
+            task.setTag(tag);
+            addToTagIndex(task);
+            notifyUpdated(List.of(task));
+            return task;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the tag of the task at the specified index.
+     *
+     * @param index The index of the task.
+     * @return The untagged task.
+     */
+    public Task untagTask(int index) {
+        writeLock.lock();
+        try {
+            Task task = tasks.get(index);
+            removeFromTagIndex(task);
+            task.setTag(null);
+            notifyUpdated(List.of(task));
+            return task;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the tasks with the specified tag.
+     *
+     * @param tag The tag to look up, without the leading '#'.
+     * @return The tasks with the tag, in list order.
+     */
+    public List<Task> findTasksByTag(String tag) {
+        readLock.lock();
+        try {
+            TreeSet<Task> taggedTasks = tasksByTag.get(tag);
+            return taggedTasks == null ? new ArrayList<>() : new ArrayList<>(taggedTasks);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of tasks with each tag.
+     *
+     * @return The task count of every tag in use, sorted by tag.
+     */
+    public SortedMap<String, Integer> getTagCounts() {
+        readLock.lock();
+        try {
+            SortedMap<String, Integer> counts = new TreeMap<>();
+            for (Map.Entry<String, TreeSet<Task>> entry : tasksByTag.entrySet()) {
+                counts.put(entry.getKey(), entry.getValue().size());
+            }
+            return counts;
+        } finally {
+            readLock.unlock();
+        }
     }
 
     /**
@@ -69,7 +471,12 @@ public class TaskList {
      * @return The number of tasks.
      */
     public int size() {
-        return tasks.size();
+        readLock.lock();
+        try {
+            return tasks.size();
+        } finally {
+            readLock.unlock();
+        }
     }
 
     /**
@@ -79,12 +486,148 @@ public class TaskList {
      * @return A list of tasks that contain the keyword.
      */
     public List<Task> findTasks(String keyword) {
-        List<Task> matchingTasks = new ArrayList<>();
-        for (Task task : tasks) {
-            if (task.getDescription().contains(keyword)) {
-                matchingTasks.add(task);
+        readLock.lock();
+        try {
+            List<Task> indexedMatches = keywordIndex.find(keyword);
+            if (indexedMatches != null) {
+                return indexedMatches;
+            }
+            List<Task> matchingTasks = new ArrayList<>();
+            for (Task task : tasks.asList()) {
+                if (task.getDescription().contains(keyword)) {
+                    matchingTasks.add(task);
+                }
+            }
+            return matchingTasks;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the deadlines due within the specified window.
+     *
+     * @param from The start of the window.
+     * @param to The end of the window, inclusive.
+     * @return The deadlines, from the earliest due date.
+     */
+    public List<Task> findDeadlines(LocalDateTime from, LocalDateTime to) {
+        readLock.lock();
+        try {
+            List<Task> deadlines = new ArrayList<>();
+            deadlineIndex.findOverlapping(from, to, deadlines);
+            return deadlines;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the events that take place at any time within the specified window.
+     *
+     * @param from The start of the window.
+     * @param to The end of the window, inclusive.
+     * @return The events, from the earliest start.
+     */
+    public List<Task> findEvents(LocalDateTime from, LocalDateTime to) {
+        readLock.lock();
+        try {
+            List<Task> events = new ArrayList<>();
+            eventIndex.findOverlapping(from, to, events);
+            return events;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the deadlines due and the events taking place within the specified window, in order of time.
+     * Deadlines are ordered by their due date and events by their start.
+     *
+     * @param from The start of the window.
+     * @param to The end of the window, inclusive.
+     * @return The deadlines and events.
+     */
+    public List<Task> getAgenda(LocalDateTime from, LocalDateTime to) {
+        readLock.lock();
+        try {
+            List<Task> deadlines = new ArrayList<>();
+            deadlineIndex.findOverlapping(from, to, deadlines);
+            List<Task> events = new ArrayList<>();
+            eventIndex.findOverlapping(from, to, events);
+            List<Task> agenda = new ArrayList<>(deadlines.size() + events.size());
+            int nextDeadline = 0;
+            int nextEvent = 0;
+            while (nextDeadline < deadlines.size() || nextEvent < events.size()) {
+                boolean isDeadlineNext = nextEvent == events.size() || (nextDeadline < deadlines.size()
+                        && !getStart(deadlines.get(nextDeadline)).isAfter(getStart(events.get(nextEvent))));
+                agenda.add(isDeadlineNext ? deadlines.get(nextDeadline++) : events.get(nextEvent++));
+            }
+            return agenda;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private static LocalDateTime getStart(Task task) {
+        return task instanceof Deadline ? ((Deadline) task).getByDateTime() : ((Event) task).getFromDateTime();
+    }
+
+    private void index(Task task) {
+        keywordIndex.add(task);
+        addToTagIndex(task);
+        if (task instanceof Deadline) {
+            LocalDateTime by = ((Deadline) task).getByDateTime();
+            deadlineIndex.add(task, by, by);
+        } else if (task instanceof Event) {
+            eventIndex.add(task, ((Event) task).getFromDateTime(), ((Event) task).getToDateTime());
+        }
+    }
+
+    private void unindex(Task task) {
+        keywordIndex.remove(task);
+        removeFromTagIndex(task);
+        if (task instanceof Deadline) {
+            deadlineIndex.remove(task, ((Deadline) task).getByDateTime());
+        } else if (task instanceof Event) {
+            eventIndex.remove(task, ((Event) task).getFromDateTime());
+        }
+    }
+
+    private void notifyAdded(List<Task> addedTasks) {
+        for (TaskListListener listener : listeners) {
+            listener.tasksAdded(addedTasks);
+        }
+    }
+
+    private void notifyRemoved(List<Task> removedTasks) {
+        for (TaskListListener listener : listeners) {
+            listener.tasksRemoved(removedTasks);
+        }
+    }
+
+    private void notifyUpdated(List<Task> updatedTasks) {
+        for (TaskListListener listener : listeners) {
+            listener.tasksUpdated(updatedTasks);
+        }
+    }
+
+    private void addToTagIndex(Task task) {
+        if (task.hasTag()) {
+            tasksByTag.computeIfAbsent(task.getTag(), tag -> new TreeSet<>(Task.BY_LIST_ORDER)).add(task);
+        }
+    }
+
+    private void removeFromTagIndex(Task task) {
+        if (!task.hasTag()) {
+            return;
+        }
+        TreeSet<Task> taggedTasks = tasksByTag.get(task.getTag());
+        if (taggedTasks != null) {
+            taggedTasks.remove(task);
+            if (taggedTasks.isEmpty()) {
+                tasksByTag.remove(task.getTag());
             }
         }
-        return matchingTasks;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package duke.components;
+
+import java.util.List;
+
+/**
+ * Receives the changes made to a {@link TaskList}.
+ * <p>
+ * The methods are called while the task list holds its exclusive lock, so changes arrive in the order they were
+ * made and no other change can come in between. Implementations should return quickly and must not call back
+ * into the task list.
+ */
+public interface TaskListListener {
+    /**
+     * Called after tasks are added to the list.
+     *
+     * @param tasks The added tasks, in list order.
+     */
+    default void tasksAdded(List<Task> tasks) {
+    }
+
+    /**
+     * Called after tasks are removed from the list.
+     *
+     * @param tasks The removed tasks, in list order.
+     */
+    default void tasksRemoved(List<Task> tasks) {
+    }
+
+    /**
+     * Called after tasks in the list are marked, unmarked, tagged or untagged.
+     *
+     * @param tasks The changed tasks.
+     */
+    default void tasksUpdated(List<Task> tasks) {
+    }
+}
@@ -0,0 +1,74 @@
+package duke.data;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Replaces files atomically, so that a crash in the middle of a write leaves either the old or the new contents
+ * behind, never a truncated file.
+ * <p>
+ * The new contents are written to a temporary file next to the target, which is then renamed over the target.
+ */
+final class AtomicFiles {
+    static final String TEMP_SUFFIX = ".tmp";
+
+    private AtomicFiles() {
+    }
+
+    /**
+     * Writes the contents of a file to a stream.
+     */
+    @FunctionalInterface
+    interface Contents {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Replaces the file at the specified path with the specified contents.
+     * In durable mode, the contents are forced to the storage device before the rename, and the rename itself
+     * is forced by syncing the directory where the platform allows it.
+     *
+     * @param path The path of the file to replace.
+     * @param contents The new contents of the file.
+     * @param isDurable Whether the new contents must survive a power failure once this method returns.
+     * @throws IOException If the contents cannot be written. The file at the path is left unchanged.
+     */
+    static void replace(String path, Contents contents, boolean isDurable) throws IOException {
+        Path target = Paths.get(path);
+        Path temp = Paths.get(path + TEMP_SUFFIX);
+        try (FileOutputStream out = new FileOutputStream(temp.toFile())) {
+            contents.writeTo(out);
+            if (isDurable) {
+                out.getFD().sync();
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (isDurable) {
+            syncDirectory(target.toAbsolutePath().getParent());
+        }
+    }
+
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories cannot be opened for syncing on every platform, such as Windows, where a completed
+            // rename is already durable.
+        }
+    }
+}
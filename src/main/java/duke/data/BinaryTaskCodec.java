@@ -0,0 +1,300 @@
+package duke.data;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import duke.components.Deadline;
+import duke.components.Event;
+import duke.components.Task;
+import duke.components.ToDo;
+
+/**
+ * Reads and writes the versioned binary snapshot format.
+ * <p>
+ * The file starts with a magic number, a format version, the number of tasks and the generation of the
+ * snapshot, which its journal must match. Each task is stored as a type byte, a done flag and the
+ * length-prefixed UTF-8 description, followed by the dates of deadlines and events as minutes since the epoch,
+ * the number of optional fields and the fields themselves, each a key byte and a length-prefixed value, such as
+ * the stable ID and the tag. Readers skip fields with keys they do not know, so new optional fields can be added
+ * without changing the version.
+ * <p>
+ * Each task is framed by its length in bytes and followed by the CRC-32 of those bytes. A task whose checksum
+ * does not match is skipped, and the tasks after it are still read. A file whose framing is damaged, or with a
+ * task that cannot be decoded although its checksum matches, cannot be read.
+ */
+final class BinaryTaskCodec {
+    private static final int MAGIC = 0x41475453; // "AGTS"
+    private static final int VERSION = 1;
+    private static final byte FIELD_ID = 1;
+    private static final byte FIELD_TAG = 2;
+    private static final int ID_LENGTH = Long.BYTES;
+    private static final byte TYPE_TODO = 0;
+    private static final byte TYPE_DEADLINE = 1;
+    private static final byte TYPE_EVENT = 2;
+    private static final int NULL_LENGTH = -1;
+    private static final int RECORD_BUFFER_SIZE = 256;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private BinaryTaskCodec() {
+    }
+
+    /**
+     * Reads all intact tasks from the specified binary snapshot.
+     *
+     * @param file The binary snapshot to read.
+     * @return The tasks in the order they were written, and the number of damaged tasks that were skipped.
+     * @throws IOException If the file cannot be read or is not a valid snapshot.
+     */
+    static SnapshotContents read(File file) throws IOException {
+        // Reading into the heap instead of mapping the file lets the file be replaced right after it is read,
+        // which Windows does not allow while a mapping is alive.
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        try {
+            return readTasks(buffer);
+        } catch (BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+            throw new IOException("Truncated or corrupt task file: " + file, e);
+        }
+    }
+
+    /**
+     * Writes all tasks to the specified stream. The stream is flushed but not closed.
+     *
+     * @param stream The stream to write to.
+     * @param tasks The tasks to write.
+     * @param generation The generation of the snapshot.
+     * @throws IOException If an I/O error occurs.
+     */
+    static void write(OutputStream stream, List<Task> tasks, long generation) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, BUFFER_SIZE));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(tasks.size());
+        out.writeLong(generation);
+        RecordBuffer record = new RecordBuffer();
+        DataOutputStream recordOut = new DataOutputStream(record);
+        CRC32 crc = new CRC32();
+        for (Task task : tasks) {
+            record.reset();
+            writeTask(recordOut, task);
+            crc.reset();
+            crc.update(record.getBytes(), 0, record.size());
+            out.writeInt(record.size());
+            out.write(record.getBytes(), 0, record.size());
+            out.writeInt((int) crc.getValue());
+        }
+        out.flush();
+    }
+
+    private static SnapshotContents readTasks(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a task snapshot file");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported task snapshot version: " + version);
+        }
+        int count = buffer.getInt();
+        long generation = buffer.getLong();
+        return readCheckedTasks(buffer, count, generation);
+    }
+
+    /**
+     * Reads the framed and checksummed tasks of a snapshot, skipping the ones whose checksum does not match.
+     */
+    private static SnapshotContents readCheckedTasks(ByteBuffer buffer, int count, long generation)
+            throws IOException {
+        List<Task> tasks = new ArrayList<>(Math.max(0, count));
+        CRC32 crc = new CRC32();
+        ByteBuffer checksumView = buffer.duplicate();
+        int skippedRecords = 0;
+        for (int i = 0; i < count; i++) {
+            int length = buffer.getInt();
+            int start = buffer.position();
+            if (length < 0 || length > buffer.remaining() - Integer.BYTES) {
+                throw new IOException("Invalid task length: " + length);
+            }
+            int end = start + length;
+            crc.reset();
+            checksumView.clear();
+            checksumView.position(start).limit(end);
+            crc.update(checksumView);
+            if ((int) crc.getValue() == buffer.getInt(end)) {
+                tasks.add(readCheckedTask(buffer, end));
+            } else {
+                skippedRecords++;
+            }
+            buffer.position(end + Integer.BYTES);
+        }
+        return new SnapshotContents(tasks, VERSION, generation, skippedRecords);
+    }
+
+    /**
+     * Returns the task whose intact bytes start at the buffer's position and end at the specified position.
+     *
+     * @throws IOException If the bytes do not hold exactly one task.
+     */
+    private static Task readCheckedTask(ByteBuffer buffer, int end) throws IOException {
+        Task task;
+        try {
+            task = readTask(buffer);
+        } catch (RuntimeException e) {
+            throw new IOException("Invalid task in file", e);
+        }
+        if (buffer.position() != end) {
+            throw new IOException("Invalid task length: " + (end - buffer.position()) + " bytes left over");
+        }
+        return task;
+    }
+
+    private static Task readTask(ByteBuffer buffer) throws IOException {
+        byte type = buffer.get();
+        boolean isDone = buffer.get() != 0;
+        String description = readString(buffer);
+        Task task;
+        switch (type) {
+        case TYPE_TODO:
+            task = new ToDo(description, isDone);
+            break;
+        case TYPE_DEADLINE:
+            task = new Deadline(description, readDateTime(buffer), isDone);
+            break;
+        case TYPE_EVENT:
+            task = new Event(description, readDateTime(buffer), readDateTime(buffer), isDone);
+            break;
+        default:
+            throw new IOException("Invalid task type in file");
+        }
+        readFields(buffer, task);
+        return task;
+    }
+
+    private static void readFields(ByteBuffer buffer, Task task) {
+        int count = buffer.get() & 0xFF;
+        for (int i = 0; i < count; i++) {
+            byte key = buffer.get();
+            int length = buffer.getInt();
+            switch (key) {
+            case FIELD_ID:
+                if (length != ID_LENGTH) {
+                    throw new IllegalArgumentException("Invalid ID length: " + length);
+                }
+                task.setId(buffer.getLong());
+                break;
+            case FIELD_TAG: {
+                byte[] bytes = new byte[length];
+                buffer.get(bytes);
+                task.setTag(new String(bytes, StandardCharsets.UTF_8));
+                break;
+            }
+            default:
+                buffer.position(buffer.position() + length);
+                break;
+            }
+        }
+    }
+
+    private static void writeTask(DataOutputStream out, Task task) throws IOException {
+        byte type = task instanceof ToDo ? TYPE_TODO : task instanceof Deadline ? TYPE_DEADLINE : TYPE_EVENT;
+        out.writeByte(type);
+        out.writeBoolean(task.isDone());
+        writeString(out, task.getDescription());
+        if (task instanceof Deadline) {
+            writeDateTime(out, ((Deadline) task).getByDateTime());
+        } else if (task instanceof Event) {
+            writeDateTime(out, ((Event) task).getFromDateTime());
+            writeDateTime(out, ((Event) task).getToDateTime());
+        }
+        writeFields(out, task);
+    }
+
+    private static void writeFields(DataOutputStream out, Task task) throws IOException {
+        boolean hasId = task.getId() != Task.NO_ID;
+        out.writeByte((hasId ? 1 : 0) + (task.hasTag() ? 1 : 0));
+        if (hasId) {
+            out.writeByte(FIELD_ID);
+            out.writeInt(ID_LENGTH);
+            out.writeLong(task.getId());
+        }
+        if (task.hasTag()) {
+            out.writeByte(FIELD_TAG);
+            writeString(out, task.getTag());
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static LocalDateTime readDateTime(ByteBuffer buffer) {
+        long epochMinute = buffer.getLong();
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime dateTime) throws IOException {
+        out.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC) / 60);
+    }
+
+    /**
+     * A reusable buffer for encoding one task, which gives access to its bytes without copying them.
+     * It is only used by one thread, so its writes skip the locking of {@link ByteArrayOutputStream}, which
+     * would otherwise be taken once per byte of every number.
+     */
+    private static final class RecordBuffer extends ByteArrayOutputStream {
+        RecordBuffer() {
+            super(RECORD_BUFFER_SIZE);
+        }
+
+        byte[] getBytes() {
+            return buf;
+        }
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(count + 1);
+            buf[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            ensureCapacity(count + len);
+            System.arraycopy(b, off, buf, count, len);
+            count += len;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(capacity, buf.length * 2));
+            }
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package duke.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import duke.components.Deadline;
+import duke.components.Event;
+import duke.components.Task;
+import duke.components.ToDo;
+
+/**
+ * A {@link TaskRepository} that keeps the tasks in an embedded H2 database file.
+ * <p>
+ * Every task is a row keyed by its stable ID, so a change writes only the rows of the changed tasks instead of
+ * rewriting the whole list. Task IDs increase along the list, so the list order is the order of the IDs.
+ * The changes recorded since the last commit are sent as JDBC batches and committed in one transaction.
+ */
+public class H2TaskRepository implements TaskRepository {
+    private static final String URL_PREFIX = "jdbc:h2:file:";
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS tasks (id BIGINT PRIMARY KEY, "
+            + "task_type CHAR(1) NOT NULL, is_done BOOLEAN NOT NULL, description VARCHAR NOT NULL, tag VARCHAR, "
+            + "start_time TIMESTAMP, end_time TIMESTAMP)";
+    private static final String SELECT = "SELECT id, task_type, is_done, description, tag, start_time, end_time "
+            + "FROM tasks";
+    private static final String SELECT_ALL = SELECT + " ORDER BY id";
+    private static final String SELECT_MATCHING = SELECT + " WHERE description LIKE ? ESCAPE '\\' ORDER BY id";
+    private static final String UPSERT = "MERGE INTO tasks (id, task_type, is_done, description, tag, start_time, "
+            + "end_time) KEY (id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String DELETE = "DELETE FROM tasks WHERE id = ?";
+    private static final String TYPE_TODO = "T";
+    private static final String TYPE_DEADLINE = "D";
+    private static final String TYPE_EVENT = "E";
+
+    private final Connection connection;
+    private final PreparedStatement upsertStatement;
+    private final PreparedStatement deleteStatement;
+    private boolean hasPendingUpserts;
+    private boolean hasPendingDeletes;
+
+    /**
+     * Opens the database at the specified path, creating it if it does not exist.
+     *
+     * @param databasePath The path of the database, without the ".mv.db" extension H2 adds.
+     * @throws IOException If the database cannot be opened.
+     */
+    public H2TaskRepository(String databasePath) throws IOException {
+        File parent = new File(databasePath).getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        try {
+            connection = DriverManager.getConnection(URL_PREFIX + new File(databasePath).getAbsolutePath());
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_TABLE);
+            }
+            connection.commit();
+            upsertStatement = connection.prepareStatement(UPSERT);
+            deleteStatement = connection.prepareStatement(DELETE);
+        } catch (SQLException e) {
+            throw new IOException("Could not open task database: " + databasePath, e);
+        }
+    }
+
+    @Override
+    public List<Task> load() throws IOException {
+        try (Statement statement = connection.createStatement();
+                ResultSet rows = statement.executeQuery(SELECT_ALL)) {
+            return readTasks(rows);
+        } catch (SQLException e) {
+            throw new IOException("Could not load tasks", e);
+        }
+    }
+
+    @Override
+    public void insert(Task task) throws IOException {
+        upsert(task);
+    }
+
+    /**
+     * Stores the task again under its ID, which also gives it its position in the list.
+     */
+    @Override
+    public void insert(int index, Task task) throws IOException {
+        upsert(task);
+    }
+
+    @Override
+    public void update(int index, Task task) throws IOException {
+        upsert(task);
+    }
+
+    @Override
+    public void delete(int index, Task task) throws IOException {
+        try {
+            deleteStatement.setLong(1, task.getId());
+            deleteStatement.addBatch();
+            hasPendingDeletes = true;
+        } catch (SQLException e) {
+            throw new IOException("Could not record deleted task", e);
+        }
+    }
+
+    /**
+     * Writes the rows changed since the last commit in one transaction. The list itself is not needed.
+     */
+    @Override
+    public void commit(List<Task> tasks) throws IOException {
+        try {
+            if (hasPendingUpserts) {
+                upsertStatement.executeBatch();
+            }
+            if (hasPendingDeletes) {
+                deleteStatement.executeBatch();
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            rollback();
+            throw new IOException("Could not commit task changes", e);
+        } finally {
+            hasPendingUpserts = false;
+            hasPendingDeletes = false;
+        }
+    }
+
+    @Override
+    public List<Task> query(String keyword) throws IOException {
+        String pattern = "%" + keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_MATCHING)) {
+            statement.setString(1, pattern);
+            try (ResultSet rows = statement.executeQuery()) {
+                return readTasks(rows);
+            }
+        } catch (SQLException e) {
+            throw new IOException("Could not query tasks", e);
+        }
+    }
+
+    /**
+     * Does nothing, as every commit is written before it returns.
+     */
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            throw new IOException("Could not close task database", e);
+        }
+    }
+
+    /**
+     * Adds an insert-or-replace of the task's row to the pending batch. Upserts run before deletes on commit,
+     * which is safe because the ID of a deleted task is never given to another task in the same commit.
+     */
+    private void upsert(Task task) throws IOException {
+        try {
+            upsertStatement.setLong(1, task.getId());
+            upsertStatement.setBoolean(3, task.isDone());
+            upsertStatement.setString(4, task.getDescription());
+            upsertStatement.setString(5, task.getTag());
+            if (task instanceof Deadline) {
+                upsertStatement.setString(2, TYPE_DEADLINE);
+                upsertStatement.setObject(6, ((Deadline) task).getByDateTime());
+                upsertStatement.setNull(7, Types.TIMESTAMP);
+            } else if (task instanceof Event) {
+                upsertStatement.setString(2, TYPE_EVENT);
+                upsertStatement.setObject(6, ((Event) task).getFromDateTime());
+                upsertStatement.setObject(7, ((Event) task).getToDateTime());
+            } else {
+                upsertStatement.setString(2, TYPE_TODO);
+                upsertStatement.setNull(6, Types.TIMESTAMP);
+                upsertStatement.setNull(7, Types.TIMESTAMP);
+            }
+            upsertStatement.addBatch();
+            hasPendingUpserts = true;
+        } catch (SQLException e) {
+            throw new IOException("Could not record changed task", e);
+        }
+    }
+
+    private static List<Task> readTasks(ResultSet rows) throws SQLException, IOException {
+        List<Task> tasks = new ArrayList<>();
+        while (rows.next()) {
+            boolean isDone = rows.getBoolean("is_done");
+            String description = rows.getString("description");
+            Task task;
+            switch (rows.getString("task_type")) {
+            case TYPE_TODO:
+                task = new ToDo(description, isDone);
+                break;
+            case TYPE_DEADLINE:
+                task = new Deadline(description, rows.getObject("start_time", LocalDateTime.class), isDone);
+                break;
+            case TYPE_EVENT:
+                task = new Event(description, rows.getObject("start_time", LocalDateTime.class),
+                        rows.getObject("end_time", LocalDateTime.class), isDone);
+                break;
+            default:
+                throw new IOException("Invalid task type in database");
+            }
+            task.setTag(rows.getString("tag"));
+            task.setId(rows.getLong("id"));
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private void rollback() {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package duke.data;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import duke.metrics.Metrics;
+
+/**
+ * Performs the file writes of an asynchronous {@link Storage} on a single background thread.
+ * <p>
+ * Writes submitted while the thread is busy are coalesced: journal records are appended together in one write,
+ * and a new snapshot supersedes any snapshot and journal records that have not been written yet.
+ */
+final class PersistenceWriter {
+    private final String snapshotPath;
+    private final String journalPath;
+    private final boolean isDurable;
+
+    private byte[] pendingSnapshot;
+    private List<String> pendingRecords = new ArrayList<>();
+    private long submitted;
+    private long written;
+    private IOException failure;
+    private boolean isClosed;
+
+    /**
+     * Starts a writer thread for the specified snapshot and journal files.
+     *
+     * @param snapshotPath The path of the snapshot file.
+     * @param journalPath The path of the journal file.
+     * @param isDurable Whether every write is forced to the storage device before it counts as written.
+     */
+    PersistenceWriter(String snapshotPath, String journalPath, boolean isDurable) {
+        this.snapshotPath = snapshotPath;
+        this.journalPath = journalPath;
+        this.isDurable = isDurable;
+        Thread thread = new Thread(this::run, "storage-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queues an encoded snapshot, replacing all writes that are still pending.
+     *
+     * @param snapshot The encoded snapshot.
+     * @throws IOException If an earlier write has failed.
+     */
+    synchronized void submitSnapshot(byte[] snapshot) throws IOException {
+        checkUsable();
+        pendingSnapshot = snapshot;
+        pendingRecords = new ArrayList<>();
+        submitted++;
+        notifyAll();
+    }
+
+    /**
+     * Queues journal records to be appended after all previously submitted writes.
+     *
+     * @param records The journal records to append.
+     * @throws IOException If an earlier write has failed.
+     */
+    synchronized void submitRecords(List<String> records) throws IOException {
+        checkUsable();
+        pendingRecords.addAll(records);
+        submitted++;
+        notifyAll();
+    }
+
+    /**
+     * Blocks until every write submitted before this call has been written.
+     *
+     * @throws IOException If a write has failed.
+     */
+    synchronized void flush() throws IOException {
+        long target = submitted;
+        try {
+            while (written < target && failure == null) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while flushing tasks");
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Flushes all pending writes and stops the writer thread.
+     *
+     * @throws IOException If a write has failed.
+     */
+    void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            synchronized (this) {
+                isClosed = true;
+                notifyAll();
+            }
+        }
+    }
+
+    private void checkUsable() throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+        if (isClosed) {
+            throw new IOException("Storage has already been closed");
+        }
+    }
+
+    private void run() {
+        while (true) {
+            byte[] snapshot;
+            List<String> records;
+            long batch;
+            synchronized (this) {
+                while (written == submitted && !isClosed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (written == submitted) {
+                    return;
+                }
+                snapshot = pendingSnapshot;
+                records = pendingRecords;
+                batch = submitted;
+                pendingSnapshot = null;
+                pendingRecords = new ArrayList<>();
+            }
+
+            IOException error = null;
+            boolean isWritten = false;
+            long start = Metrics.IS_ENABLED ? System.nanoTime() : 0;
+            try {
+                write(snapshot, records);
+                isWritten = true;
+            } catch (IOException e) {
+                error = e;
+            } catch (RuntimeException e) {
+                error = new IOException("Failed to write tasks", e);
+            } finally {
+                // Waiters are woken even if an error escapes, so that flush and close never block on a dead thread.
+                finishBatch(batch, isWritten, error, start);
+            }
+        }
+    }
+
+    /**
+     * Marks a batch as handled and wakes the threads waiting for it. A batch that was not written makes the
+     * writer fail every later call, with the specified error or, if an error escaped, a generic one.
+     */
+    private synchronized void finishBatch(long batch, boolean isWritten, IOException error, long start) {
+        if (Metrics.IS_ENABLED) {
+            Metrics.STORAGE_BACKGROUND_WRITE.record(System.nanoTime() - start);
+        }
+        written = batch;
+        if (!isWritten && failure == null) {
+            failure = error != null ? error : new IOException("Failed to write tasks");
+        }
+        notifyAll();
+    }
+
+    private void write(byte[] snapshot, List<String> records) throws IOException {
+        if (snapshot != null) {
+            AtomicFiles.replace(snapshotPath, out -> out.write(snapshot), isDurable);
+            new File(journalPath).delete();
+        }
+        if (records.isEmpty()) {
+            return;
+        }
+        try (FileOutputStream out = new FileOutputStream(journalPath, true)) {
+            out.write(encodeRecords(records));
+            sync(out);
+        }
+    }
+
+    private void sync(FileOutputStream out) throws IOException {
+        if (isDurable) {
+            out.getFD().sync();
+        }
+    }
+
+    private static byte[] encodeRecords(List<String> records) {
+        StringBuilder builder = new StringBuilder();
+        for (String record : records) {
+            builder.append(record).append(System.lineSeparator());
+        }
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
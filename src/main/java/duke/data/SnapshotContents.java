@@ -0,0 +1,46 @@
+package duke.data;
+
+import java.util.List;
+
+import duke.components.Task;
+
+/**
+ * The tasks read from a snapshot file, together with what the reader learned about the file.
+ */
+final class SnapshotContents {
+    private final List<Task> tasks;
+    private final int version;
+    private final long generation;
+    private final int skippedRecords;
+
+    /**
+     * Constructs the contents of a snapshot.
+     *
+     * @param tasks The tasks that could be read, in file order.
+     * @param version The format version of the file.
+     * @param generation The generation of the snapshot, which its journal must match, or 0 if the file has none.
+     * @param skippedRecords The number of damaged records that were left out.
+     */
+    SnapshotContents(List<Task> tasks, int version, long generation, int skippedRecords) {
+        this.tasks = tasks;
+        this.version = version;
+        this.generation = generation;
+        this.skippedRecords = skippedRecords;
+    }
+
+    List<Task> getTasks() {
+        return tasks;
+    }
+
+    int getVersion() {
+        return version;
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+
+    int getSkippedRecords() {
+        return skippedRecords;
+    }
+}
@@ -1,103 +1,666 @@
 package duke.data;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
+import java.util.zip.CRC32;
 
 import duke.components.*;
+import duke.metrics.Metrics;
 
 /**
- * Handles loading tasks from the file and saving tasks to the file.
+ * A {@link TaskRepository} that keeps the tasks in a file.
+ * <p>
+ * In journaled mode, mutations are recorded with {@link #insert}, {@link #update} and {@link #delete}
+ * and appended to a small journal file on {@link #commit}, so that a single command costs O(1) I/O.
+ * The full snapshot is only rewritten once the journal grows past the compaction threshold, and
+ * {@link #load()} replays the journal on top of the snapshot.
+ * <p>
+ * The snapshot is either the pipe-delimited text file or, with {@link Format#BINARY}, a compact binary file
+ * next to it. Both formats are versioned and store the stable ID and tag of every task. A text file of an older
+ * version is upgraded in place on the first load, keeping the original as a backup, and an existing text file
+ * is migrated to the binary format on the first load.
+ * <p>
+ * Snapshots are written to a temporary file that is then renamed over the old snapshot, so a crash during a save
+ * leaves the previous snapshot intact. Every snapshot has a generation that its journal repeats, so a journal
+ * that a crash left behind after its snapshot was replaced is discarded instead of being replayed twice. Every
+ * record carries a checksum. Snapshot records whose checksum does not match are skipped; the journal is replayed
+ * up to its first record whose checksum does not match or that was torn by a crash, since later records refer
+ * to positions that depend on it. After such a recovery, the damaged files are kept as copies with a
+ * {@code .corrupt} suffix and a clean snapshot is written. A record that passes its checksum but cannot be read
+ * fails the load instead, and the files are only copied, not rewritten.
+ * <p>
+ * In asynchronous mode, commits only encode the changes and hand them to a background writer thread, so that
+ * command latency does not depend on disk latency. Call {@link #flush()} or {@link #close()} before exiting.
+ * <p>
+ * With a commit interval, several commits are grouped into one write, which is useful for bulk imports.
  */
-public class Storage {
+public class Storage implements TaskRepository {
+    /**
+     * The on-disk format of the task snapshot.
+     */
+    public enum Format {
+        TEXT,
+        BINARY
+    }
+
+
+    private static final int DEFAULT_COMPACTION_THRESHOLD = 1000;
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String BINARY_EXTENSION = ".bin";
+    private static final String MIGRATED_SUFFIX = ".bak";
+    private static final String UPGRADED_SUFFIX = ".v%d.bak";
+    private static final String CORRUPT_SUFFIX = ".corrupt";
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String RECORD_ADD = "A";
+    private static final String RECORD_INSERT = "I";
+    private static final String RECORD_UPDATE = "U";
+    private static final String RECORD_DELETE = "R";
+
     private String filePath;
+    private String journalPath;
+    private boolean isJournaled;
+    private Format format = Format.TEXT;
+    private int compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+    private int journalSize;
+    private long generation;
+    private int skippedRecords;
+    private List<String> pendingRecords = new ArrayList<>();
+    private boolean isDurable;
+    private PersistenceWriter writer;
+    private int commitInterval = 1;
+    private int deferredCommits;
+    private List<Task> deferredTasks;
 
     /**
-     * Constructs a Storage object with the default file path.
+     * Constructs a journaled Storage object with the default file path.
      */
     public Storage() {
-        this.filePath = "./data/tasks.txt";
+        this("./data/tasks.txt");
     }
 
     /**
-     * Constructs a Storage object with the specified file path.
+     * Constructs a journaled Storage object with the specified file path.
      *
      * @param filePath The file path to use for storage.
      */
     public Storage(String filePath) {
+        this(filePath, true);
+    }
+
+    /**
+     * Constructs a Storage object with the specified file path and persistence mode.
+     *
+     * @param filePath The file path to use for storage.
+     * @param isJournaled Whether mutations are appended to a journal instead of rewriting the whole file.
+     */
+    public Storage(String filePath, boolean isJournaled) {
         this.filePath = filePath;
+        this.journalPath = filePath + JOURNAL_SUFFIX;
+        this.isJournaled = isJournaled;
     }
 
     /**
-     * Loads tasks from the file.
+     * Sets the number of journal records after which the snapshot is rewritten and the journal cleared.
+     *
+     * @param compactionThreshold The maximum number of records kept in the journal.
+     */
+    public void setCompactionThreshold(int compactionThreshold) {
+        assert compactionThreshold > 0 : "Compaction threshold must be positive";
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Sets the on-disk format of the snapshot.
+     *
+     * @param format The snapshot format to read and write.
+     */
+    public void setFormat(Format format) {
+        this.format = format;
+    }
+
+    /**
+     * Sets whether every write is forced to the storage device with fsync before it is considered done.
+     * Must be set before asynchronous mode is enabled.
+     *
+     * @param isDurable Whether writes are synced to the storage device.
+     */
+    public void setDurable(boolean isDurable) {
+        assert writer == null : "Durability must be set before enabling asynchronous mode";
+        this.isDurable = isDurable;
+    }
+
+    /**
+     * Enables or disables asynchronous mode, in which writes are performed by a single background thread
+     * that coalesces bursts of commits into one write. Disabling it flushes all pending writes.
+     * The format and durability must be set before asynchronous mode is enabled.
+     *
+     * @param isAsync Whether writes are performed in the background.
+     * @throws IOException If a pending write fails while disabling asynchronous mode.
+     */
+    public void setAsync(boolean isAsync) throws IOException {
+        if (isAsync && writer == null) {
+            writer = new PersistenceWriter(getSnapshotPath(), journalPath, isDurable);
+        } else if (!isAsync && writer != null) {
+            close();
+        }
+    }
+
+    /**
+     * Sets how many commits are grouped into one write. The changes of grouped commits are written by every
+     * {@code commitInterval}-th commit, and by {@link #flush()} and {@link #close()}.
+     *
+     * @param commitInterval The number of commits per write, or 0 to write only on flush and close.
+     */
+    public void setCommitInterval(int commitInterval) {
+        assert commitInterval >= 0 : "Commit interval cannot be negative";
+        this.commitInterval = commitInterval;
+    }
+
+    /**
+     * Writes the changes of grouped commits, then blocks until all committed changes have been written.
+     *
+     * @throws IOException If a write has failed.
+     */
+    @Override
+    public void flush() throws IOException {
+        writeDeferredCommits();
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    /**
+     * Flushes all committed changes and stops the background writer, returning to synchronous mode.
+     *
+     * @throws IOException If a background write has failed.
+     */
+    @Override
+    public void close() throws IOException {
+        writeDeferredCommits();
+        if (writer != null) {
+            PersistenceWriter closingWriter = writer;
+            writer = null;
+            closingWriter.close();
+        }
+    }
+
+    /**
+     * Loads tasks from the file, replaying any journaled mutations on top of the snapshot.
+     * In binary format, an existing text file is migrated to a binary snapshot and kept as a backup.
+     * If the files cannot be loaded, copies of them are kept with a {@code .corrupt} suffix, so that they survive
+     * the saves that follow.
      *
      * @return A list of tasks loaded from the file.
-     * @throws IOException If an I/O error occurs.
+     * @throws IOException If an I/O error occurs or a record cannot be read.
      */
+    @Override
     public List<Task> load() throws IOException {
-        List<Task> tasks = new ArrayList<>();
+        long start = Metrics.IS_ENABLED ? System.nanoTime() : 0;
+        List<Task> tasks;
+        try {
+            tasks = loadTasks();
+        } catch (IOException e) {
+            try {
+                keepCopies(filePath, getBinaryPath(), journalPath);
+            } catch (IOException copyFailure) {
+                e.addSuppressed(copyFailure);
+            }
+            throw e;
+        }
+        if (Metrics.IS_ENABLED) {
+            Metrics.STORAGE_LOAD.record(System.nanoTime() - start);
+        }
+        return tasks;
+    }
+
+    private List<Task> loadTasks() throws IOException {
+        flush();
+        skippedRecords = 0;
         File file = new File(filePath);
+        if (format == Format.BINARY) {
+            File binaryFile = new File(getBinaryPath());
+            if (binaryFile.exists()) {
+                return loadSnapshot(BinaryTaskCodec.read(binaryFile));
+            }
+            if (file.exists()) {
+                return migrateToBinary(file);
+            }
+        }
         if (!file.exists()) {
             file.getParentFile().mkdirs();
-            file.createNewFile();
-            return tasks;
-        }
-
-        Scanner sc = new Scanner(file);
-        while (sc.hasNext()) {
-            String input = sc.nextLine();
-            String[] taskComponents = input.split(" \\| ");
-            String type = taskComponents[0];
-            boolean isDone = taskComponents[1].equals("1");
-            String description = taskComponents[2];
-            Task task = null;
-            try {
-                switch (type) {
-                case "T":
-                    task = new ToDo(description, isDone);
-                    break;
-                case "D":
-                    task = new Deadline(description, taskComponents[3], isDone);
-                    break;
-                case "E":
-                    task = new Event(description, taskComponents[3], taskComponents[4], isDone);
-                    break;
-                default:
-                    throw new IOException("Invalid task type in file");
-                }
-            } catch (Exception e) {
-                System.out.println("Error parsing line: " + input); // Debug statement
-                e.printStackTrace(); // Print stack trace for debugging
-                throw e;
+            new File(journalPath).delete();
+            journalSize = 0;
+            generation = 0;
+            if (format == Format.TEXT) {
+                file.createNewFile();
+            } else {
+                // Journal records need a snapshot to be replayed on, even an empty one.
+                save(new ArrayList<>());
             }
-            tasks.add(task);
+            return new ArrayList<>();
+        }
+
+        SnapshotContents snapshot = TextTaskReader.read(file);
+        List<Task> tasks = loadSnapshot(snapshot);
+        if (skippedRecords == 0 && snapshot.getVersion() < TextTaskFormat.VERSION) {
+            upgradeTextFile(file, snapshot.getVersion(), tasks);
+        }
+        return tasks;
+    }
+
+    /**
+     * Replays the journal on top of the tasks read from the snapshot, and writes a clean snapshot if either of
+     * them was damaged.
+     */
+    private List<Task> loadSnapshot(SnapshotContents snapshot) throws IOException {
+        List<Task> tasks = snapshot.getTasks();
+        generation = snapshot.getGeneration();
+        skippedRecords = snapshot.getSkippedRecords();
+        journalSize = replayJournal(tasks);
+        if (skippedRecords > 0) {
+            recover(tasks);
         }
-        sc.close();
         return tasks;
     }
 
     /**
-     * Saves tasks to the file.
+     * Returns the number of damaged records that were left out by the last {@link #load()}.
+     */
+    @Override
+    public int getSkippedRecordCount() {
+        return skippedRecords;
+    }
+
+    /**
+     * Saves tasks to the file and clears the journal.
+     * The tasks are copied first, so a list that other threads change while it is saved is written consistently.
      *
      * @param tasks The list of tasks to save.
      * @throws IOException If an I/O error occurs.
      */
     public void save(List<Task> tasks) throws IOException {
-        BufferedWriter writer = new BufferedWriter(new FileWriter(filePath));
+        long start = Metrics.IS_ENABLED ? System.nanoTime() : 0;
+        saveSnapshot(tasks);
+        if (Metrics.IS_ENABLED) {
+            Metrics.STORAGE_SNAPSHOT.record(System.nanoTime() - start);
+        }
+    }
+
+    private void saveSnapshot(List<Task> tasks) throws IOException {
+        List<Task> savedTasks = List.copyOf(tasks);
+        journalSize = 0;
+        pendingRecords.clear();
+        deferredCommits = 0;
+        deferredTasks = null;
+        generation++;
+        if (writer != null) {
+            ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+            writeSnapshot(snapshot, savedTasks);
+            writer.submitSnapshot(snapshot.toByteArray());
+            return;
+        }
+        AtomicFiles.replace(getSnapshotPath(), out -> writeSnapshot(out, savedTasks), isDurable);
+        new File(journalPath).delete();
+    }
+
+    @Override
+    public void insert(Task task) {
+        pendingRecords.add(TextTaskFormat.addChecksum(RECORD_ADD + " | " + TextTaskFormat.encode(task)));
+    }
+
+    @Override
+    public void insert(int index, Task task) {
+        String record = RECORD_INSERT + " | " + index + " | " + TextTaskFormat.encode(task);
+        pendingRecords.add(TextTaskFormat.addChecksum(record));
+    }
+
+    @Override
+    public void update(int index, Task task) {
+        String record = RECORD_UPDATE + " | " + index + " | " + TextTaskFormat.encode(task);
+        pendingRecords.add(TextTaskFormat.addChecksum(record));
+    }
+
+    @Override
+    public void delete(int index, Task task) {
+        pendingRecords.add(TextTaskFormat.addChecksum(RECORD_DELETE + " | " + index));
+    }
+
+    /**
+     * Returns the stored tasks whose description contains the keyword.
+     * The file has no index, so this reads every committed task and filters them. Unlike {@link #load()}, it
+     * leaves the files and the state of the journal alone, so it can be called between commits.
+     *
+     * @param keyword The keyword to search for.
+     * @return The matching tasks in list order.
+     * @throws IOException If the tasks cannot be read.
+     */
+    @Override
+    public List<Task> query(String keyword) throws IOException {
+        flush();
+        List<Task> matchingTasks = new ArrayList<>();
+        for (Task task : readTasks()) {
+            if (task.getDescription().contains(keyword)) {
+                matchingTasks.add(task);
+            }
+        }
+        return matchingTasks;
+    }
+
+    /**
+     * Persists all mutations recorded since the last commit.
+     * In journaled mode the records are appended to the journal, unless the journal would exceed the
+     * compaction threshold, in which case the snapshot is rewritten instead.
+     * Otherwise the whole list is saved. With a commit interval, the write may be grouped with later commits.
+     *
+     * @param tasks The current list of tasks, used when the snapshot has to be rewritten. Grouped commits keep
+     *              a reference to it, so it should be a live view of the tasks.
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void commit(List<Task> tasks) throws IOException {
+        if (commitInterval != 1) {
+            deferredCommits++;
+            if (commitInterval == 0 || deferredCommits < commitInterval) {
+                deferredTasks = tasks;
+                return;
+            }
+        }
+        writeCommit(tasks);
+    }
+
+    private void writeDeferredCommits() throws IOException {
+        if (deferredTasks != null) {
+            writeCommit(deferredTasks);
+        }
+    }
+
+    private void writeCommit(List<Task> tasks) throws IOException {
+        deferredCommits = 0;
+        deferredTasks = null;
+        if (!isJournaled || journalSize + pendingRecords.size() > compactionThreshold) {
+            save(tasks);
+            return;
+        }
+        if (pendingRecords.isEmpty()) {
+            return;
+        }
+        long start = Metrics.IS_ENABLED ? System.nanoTime() : 0;
+        appendToJournal();
+        if (Metrics.IS_ENABLED) {
+            Metrics.STORAGE_JOURNAL.record(System.nanoTime() - start);
+        }
+    }
+
+    private void appendToJournal() throws IOException {
+        List<String> records = pendingRecords;
+        pendingRecords = new ArrayList<>();
+        int recordCount = records.size();
+        if (journalSize == 0) {
+            records.add(0, TextTaskFormat.createJournalHeader(generation));
+        }
+        journalSize += recordCount;
+        if (writer != null) {
+            writer.submitRecords(records);
+            return;
+        }
+        FileOutputStream out = new FileOutputStream(journalPath, true);
+        try {
+            BufferedWriter journal = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            for (String record : records) {
+                journal.write(record);
+                journal.newLine();
+            }
+            journal.flush();
+            sync(out);
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writeSnapshot(OutputStream out, List<Task> tasks) throws IOException {
+        if (format == Format.BINARY) {
+            BinaryTaskCodec.write(out, tasks, generation);
+            return;
+        }
+        OutputStream snapshot = new BufferedOutputStream(out, BUFFER_SIZE);
+        String header = TextTaskFormat.createHeader(generation) + System.lineSeparator();
+        snapshot.write(header.getBytes(StandardCharsets.UTF_8));
+        CRC32 crc = new CRC32();
+        for (Task task : tasks) {
+            TextTaskFormat.writeLine(snapshot, TextTaskFormat.encode(task).getBytes(StandardCharsets.UTF_8), crc);
+        }
+        snapshot.flush();
+    }
+
+    private void sync(FileOutputStream out) throws IOException {
+        if (isDurable) {
+            out.getFD().sync();
+        }
+    }
+
+    private List<Task> migrateToBinary(File textFile) throws IOException {
+        SnapshotContents snapshot = TextTaskReader.read(textFile);
+        List<Task> tasks = snapshot.getTasks();
+        generation = snapshot.getGeneration();
+        skippedRecords = snapshot.getSkippedRecords();
+        replayJournal(tasks);
+        if (skippedRecords > 0) {
+            keepDamagedCopies(filePath);
+        }
+        assignMissingIds(tasks);
+        save(tasks);
+        flush();
+        File backup = new File(filePath + MIGRATED_SUFFIX);
+        backup.delete();
+        if (!textFile.renameTo(backup)) {
+            throw new IOException("Could not move migrated task file to " + backup);
+        }
+        return tasks;
+    }
+
+    /**
+     * Rewrites a text file of an older version in the current version, in one pass over the tasks that have
+     * already been loaded, and keeps the original file as a backup.
+     */
+    private void upgradeTextFile(File textFile, int version, List<Task> tasks) throws IOException {
+        Path backup = Paths.get(filePath + String.format(UPGRADED_SUFFIX, version));
+        Files.copy(textFile.toPath(), backup, StandardCopyOption.REPLACE_EXISTING);
+        assignMissingIds(tasks);
+        save(tasks);
+        flush();
+    }
+
+    /**
+     * Keeps copies of the damaged snapshot and journal, and replaces them with a clean snapshot of the tasks that
+     * could be recovered.
+     */
+    private void recover(List<Task> tasks) throws IOException {
+        keepDamagedCopies(getSnapshotPath());
+        assignMissingIds(tasks);
+        save(tasks);
+        flush();
+    }
+
+    private void keepDamagedCopies(String snapshotPath) throws IOException {
+        keepCopies(snapshotPath, journalPath);
+    }
+
+    private static void keepCopies(String... paths) throws IOException {
+        for (String path : paths) {
+            Path damagedFile = Paths.get(path);
+            if (Files.exists(damagedFile)) {
+                Files.copy(damagedFile, Paths.get(path + CORRUPT_SUFFIX), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    /**
+     * Numbers the tasks that were stored without an ID, the same way {@link TaskList#TaskList(List)} would, so that
+     * the IDs written now are the ones the tasks get when they are loaded.
+     */
+    private static void assignMissingIds(List<Task> tasks) {
+        long nextId = 1;
         for (Task task : tasks) {
-            String type = task instanceof ToDo ? "T" : task instanceof Deadline ? "D" : "E";
-            String isDone = task.isDone() ? "1" : "0";
-            String description = task.getDescription();
-            String line = type + " | " + isDone + " | " + description;
-            if (task instanceof Deadline) {
-                line += " | " + ((Deadline) task).getBy();
-            } else if (task instanceof Event) {
-                line += " | " + ((Event) task).getFrom() + " | " + ((Event) task).getTo();
+            if (task.getId() < nextId) {
+                task.setId(nextId);
+            }
+            nextId = task.getId() + 1;
+        }
+    }
+
+    private String getSnapshotPath() {
+        return format == Format.BINARY ? getBinaryPath() : filePath;
+    }
+
+    private String getBinaryPath() {
+        int extensionStart = filePath.lastIndexOf('.');
+        int nameStart = Math.max(filePath.lastIndexOf('/'), filePath.lastIndexOf(File.separatorChar)) + 1;
+        String basePath = extensionStart > nameStart ? filePath.substring(0, extensionStart) : filePath;
+        return basePath + BINARY_EXTENSION;
+    }
+
+    /**
+     * Reads the committed tasks from the snapshot and the journal without changing any file or the state of this
+     * storage: nothing is migrated, upgraded or recovered, and damaged records are left out.
+     */
+    private List<Task> readTasks() throws IOException {
+        File binaryFile = new File(getBinaryPath());
+        File textFile = new File(filePath);
+        SnapshotContents snapshot;
+        if (format == Format.BINARY && binaryFile.exists()) {
+            snapshot = BinaryTaskCodec.read(binaryFile);
+        } else if (textFile.exists()) {
+            snapshot = TextTaskReader.read(textFile);
+        } else {
+            return new ArrayList<>();
+        }
+        List<Task> tasks = snapshot.getTasks();
+        String[] lines = readJournalLines();
+        if (lines != null && getJournalGeneration(lines) == snapshot.getGeneration()) {
+            applyRecords(tasks, lines);
+        }
+        return tasks;
+    }
+
+    /**
+     * Applies the records of the journal to the tasks, if the journal belongs to the current snapshot.
+     * A journal of an older snapshot is deleted. Replay stops at the first record whose checksum does not match
+     * or that was torn, and it and the records after it are counted as skipped.
+     *
+     * @return The number of records that were applied.
+     * @throws IOException If the journal cannot be read, or has an intact record that cannot be applied.
+     */
+    private int replayJournal(List<Task> tasks) throws IOException {
+        String[] lines = readJournalLines();
+        if (lines == null) {
+            return 0;
+        }
+        File journal = new File(journalPath);
+        if (getJournalGeneration(lines) != generation) {
+            journal.delete();
+            return 0;
+        }
+        int records = applyRecords(tasks, lines);
+        skippedRecords += countRecords(lines, getFirstRecord(lines)) - records;
+        if (records == 0) {
+            journal.delete();
+        }
+        return records;
+    }
+
+    /**
+     * Returns the lines of the journal, or null if there is no journal.
+     */
+    private String[] readJournalLines() throws IOException {
+        File journal = new File(journalPath);
+        if (!journal.exists()) {
+            return null;
+        }
+        // Decoding replaces malformed bytes instead of failing, so that they only fail the checksum of their record.
+        return new String(Files.readAllBytes(journal.toPath()), StandardCharsets.UTF_8).split("\\r?\\n");
+    }
+
+    private static int getFirstRecord(String[] lines) {
+        return lines[0].startsWith(TextTaskFormat.JOURNAL_HEADER_PREFIX) ? 1 : 0;
+    }
+
+    private static long getJournalGeneration(String[] lines) throws IOException {
+        return getFirstRecord(lines) == 0 ? 0 : TextTaskFormat.parseGeneration(lines[0]);
+    }
+
+    /**
+     * Applies the records of the journal to the tasks, up to its first record whose checksum does not match or
+     * that was torn.
+     *
+     * @return The number of records that were applied.
+     * @throws IOException If an intact record cannot be applied.
+     */
+    private static int applyRecords(List<Task> tasks, String[] lines) throws IOException {
+        int first = getFirstRecord(lines);
+        int records = 0;
+        for (int i = first; i < lines.length; i++) {
+            if (lines[i].isEmpty()) {
+                continue;
+            }
+            // Journals with a header checksum every record, so a record without one was torn by a crash.
+            boolean isIntact = first == 0 || TextTaskFormat.hasChecksum(lines[i]);
+            if (!isIntact || !replayRecord(tasks, lines[i])) {
+                break;
+            }
+            records++;
+        }
+        return records;
+    }
+
+    /**
+     * Applies a journal record to the tasks.
+     *
+     * @return Whether the record was applied, which is false if its checksum does not match.
+     * @throws IOException If the record cannot be parsed or applied.
+     */
+    private static boolean replayRecord(List<Task> tasks, String line) throws IOException {
+        String record = TextTaskFormat.removeChecksum(line);
+        if (record == null) {
+            return false;
+        }
+        String[] parts = record.split(" \\| ", 2);
+        try {
+            switch (parts[0]) {
+            case RECORD_ADD:
+                tasks.add(TextTaskFormat.decode(parts[1]));
+                return true;
+            case RECORD_INSERT:
+                String[] insert = parts[1].split(" \\| ", 2);
+                tasks.add(Integer.parseInt(insert[0]), TextTaskFormat.decode(insert[1]));
+                return true;
+            case RECORD_UPDATE:
+                String[] update = parts[1].split(" \\| ", 2);
+                tasks.set(Integer.parseInt(update[0]), TextTaskFormat.decode(update[1]));
+                return true;
+            case RECORD_DELETE:
+                tasks.remove(Integer.parseInt(parts[1]));
+                return true;
+            default:
+                throw new IOException("Invalid journal record: " + line);
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Invalid journal record: " + line, e);
+        }
+    }
+
+    private static int countRecords(String[] lines, int from) {
+        int count = 0;
+        for (int i = from; i < lines.length; i++) {
+            if (!lines[i].isEmpty()) {
+                count++;
             }
-            writer.write(line);
-            writer.newLine();
         }
-        writer.close();
+        return count;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,90 @@
+package duke.data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+import duke.components.Task;
+
+/**
+ * A persistent store of the task list.
+ * <p>
+ * Changes are recorded with {@link #insert}, {@link #update} and {@link #delete} in the order they are made to
+ * the list, and become durable on {@link #commit}. Implementations may write each change as it is recorded or
+ * group the changes of a commit into one write.
+ */
+public interface TaskRepository extends Closeable {
+    /**
+     * Loads all stored tasks.
+     *
+     * @return The tasks in list order.
+     * @throws IOException If the tasks cannot be read.
+     */
+    List<Task> load() throws IOException;
+
+    /**
+     * Records that a task has been appended to the end of the list.
+     *
+     * @param task The added task.
+     * @throws IOException If the change cannot be recorded.
+     */
+    void insert(Task task) throws IOException;
+
+    /**
+     * Records that a task has been inserted into the list at the specified index, as undoing a removal does.
+     *
+     * @param index The index of the task after it was inserted.
+     * @param task The inserted task.
+     * @throws IOException If the change cannot be recorded.
+     */
+    void insert(int index, Task task) throws IOException;
+
+    /**
+     * Records that the task at the specified index has changed.
+     *
+     * @param index The index of the changed task.
+     * @param task The task in its new state.
+     * @throws IOException If the change cannot be recorded.
+     */
+    void update(int index, Task task) throws IOException;
+
+    /**
+     * Records that the task at the specified index has been removed.
+     *
+     * @param index The index the task had before it was removed.
+     * @param task The removed task.
+     * @throws IOException If the change cannot be recorded.
+     */
+    void delete(int index, Task task) throws IOException;
+
+    /**
+     * Persists all changes recorded since the last commit.
+     *
+     * @param tasks The current list of tasks, for implementations that may rewrite the whole list.
+     * @throws IOException If the changes cannot be written.
+     */
+    void commit(List<Task> tasks) throws IOException;
+
+    /**
+     * Returns the stored tasks whose description contains the keyword.
+     *
+     * @param keyword The keyword to search for.
+     * @return The matching tasks in list order.
+     * @throws IOException If the tasks cannot be read.
+     */
+    List<Task> query(String keyword) throws IOException;
+
+    /**
+     * Blocks until all committed changes have been written.
+     *
+     * @throws IOException If a write has failed.
+     */
+    void flush() throws IOException;
+
+    /**
+     * Returns the number of damaged records that the last {@link #load()} could not recover and left out.
+     */
+    default int getSkippedRecordCount() {
+        return 0;
+    }
+}
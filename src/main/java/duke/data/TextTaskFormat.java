@@ -0,0 +1,279 @@
+package duke.data;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+import duke.components.Deadline;
+import duke.components.Event;
+import duke.components.Task;
+import duke.components.ToDo;
+
+/**
+ * Describes the pipe-delimited text format of task files and journal records.
+ * <p>
+ * Since version 2, a task file starts with the header line {@code #AGTASKS v2}. Each task is written as its
+ * type, done flag, description and dates, followed by optional {@code key=value} fields such as the stable ID
+ * and the tag: {@code D | 0 | return book | 2/12/2019 1800 | id=3 | tag=school}. Readers skip fields with keys
+ * they do not know, so new optional fields can be added without changing the version. Files without a header
+ * are version 1, which has no optional fields.
+ * <p>
+ * The header names the generation of the snapshot, which the header line of its journal repeats, so that a
+ * journal left behind by a crash right after its snapshot was replaced is not replayed a second time. Every
+ * task line and journal record ends in a {@code crc=} field with the CRC-32 of the UTF-8 bytes before it, so
+ * that damaged records are detected. Lines without a checksum, such as those of version 1 files, are accepted
+ * as they are.
+ */
+final class TextTaskFormat {
+    static final int VERSION = 2;
+    static final String HEADER_PREFIX = "#AGTASKS v";
+    static final String HEADER = HEADER_PREFIX + VERSION;
+    static final String DELIMITER = " | ";
+    static final char KEY_SEPARATOR = '=';
+    static final String FIELD_ID = "id";
+    static final String FIELD_TAG = "tag";
+    static final String FIELD_GENERATION = "generation";
+    static final String JOURNAL_HEADER_PREFIX = "#JOURNAL";
+    /** The suffix that starts the checksum field at the end of a line. */
+    static final String CHECKSUM_PREFIX = DELIMITER + "crc" + KEY_SEPARATOR;
+    static final int CHECKSUM_DIGITS = 8;
+    static final int CHECKSUM_SUFFIX_LENGTH = CHECKSUM_PREFIX.length() + CHECKSUM_DIGITS;
+
+    private static final byte[] CHECKSUM_PREFIX_BYTES = CHECKSUM_PREFIX.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LINE_SEPARATOR_BYTES = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private TextTaskFormat() {
+    }
+
+    /**
+     * Returns the header line of a snapshot of the specified generation, without the line terminator.
+     */
+    static String createHeader(long generation) {
+        return HEADER + DELIMITER + FIELD_GENERATION + KEY_SEPARATOR + generation;
+    }
+
+    /**
+     * Returns the header line of a journal for the snapshot of the specified generation, without the line
+     * terminator.
+     */
+    static String createJournalHeader(long generation) {
+        return JOURNAL_HEADER_PREFIX + DELIMITER + FIELD_GENERATION + KEY_SEPARATOR + generation;
+    }
+
+    /**
+     * Returns the format version of a task file with the specified first line.
+     *
+     * @param firstLine The first line of the file, without the line terminator.
+     * @return The version in the header, or 1 if the line is not a header.
+     * @throws IOException If the line is an invalid header or names an unsupported version.
+     */
+    static int parseVersion(String firstLine) throws IOException {
+        if (!firstLine.startsWith(HEADER_PREFIX)) {
+            return 1;
+        }
+        int versionEnd = firstLine.indexOf(DELIMITER);
+        int version;
+        try {
+            version = Integer.parseInt(firstLine.substring(HEADER_PREFIX.length(),
+                    versionEnd < 0 ? firstLine.length() : versionEnd).trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid task file header: " + firstLine);
+        }
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported task file version: " + version);
+        }
+        return version;
+    }
+
+    /**
+     * Returns the generation named in a snapshot or journal header line.
+     *
+     * @param headerLine The header line, without the line terminator.
+     * @return The generation, or 0 if the header does not name one.
+     * @throws IOException If the generation is not a number.
+     */
+    static long parseGeneration(String headerLine) throws IOException {
+        String[] fields = headerLine.split(" \\| ");
+        for (int i = 1; i < fields.length; i++) {
+            if (fields[i].startsWith(FIELD_GENERATION + KEY_SEPARATOR)) {
+                try {
+                    return Long.parseLong(fields[i].substring(FIELD_GENERATION.length() + 1));
+                } catch (NumberFormatException e) {
+                    throw new IOException("Invalid header: " + headerLine);
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the record followed by its checksum field.
+     *
+     * @param record The record, without the line terminator.
+     * @return The record with its checksum.
+     */
+    static String addChecksum(String record) {
+        CRC32 crc = new CRC32();
+        crc.update(record.getBytes(StandardCharsets.UTF_8));
+        byte[] digits = new byte[CHECKSUM_DIGITS];
+        writeHex(crc.getValue(), digits);
+        return record + CHECKSUM_PREFIX + new String(digits, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Returns whether the line ends in a checksum field, whether or not the checksum matches.
+     */
+    static boolean hasChecksum(String line) {
+        int prefixStart = line.length() - CHECKSUM_SUFFIX_LENGTH;
+        return prefixStart >= 0 && line.startsWith(CHECKSUM_PREFIX, prefixStart);
+    }
+
+    /**
+     * Returns the record in a line, after checking the checksum field that ends the line, if any.
+     *
+     * @param line The line, without the line terminator.
+     * @return The line without its checksum field, or null if the checksum does not match.
+     */
+    static String removeChecksum(String line) {
+        if (!hasChecksum(line)) {
+            return line;
+        }
+        String record = line.substring(0, line.length() - CHECKSUM_SUFFIX_LENGTH);
+        return addChecksum(record).equals(line) ? record : null;
+    }
+
+    /**
+     * Writes the record, its checksum field and a line terminator to the stream.
+     *
+     * @param out The stream to write to.
+     * @param record The UTF-8 bytes of the record.
+     * @param crc The checksum to compute the record's checksum with. It is reset first.
+     * @throws IOException If an I/O error occurs.
+     */
+    static void writeLine(OutputStream out, byte[] record, CRC32 crc) throws IOException {
+        crc.reset();
+        crc.update(record);
+        byte[] suffix = new byte[CHECKSUM_SUFFIX_LENGTH + LINE_SEPARATOR_BYTES.length];
+        System.arraycopy(CHECKSUM_PREFIX_BYTES, 0, suffix, 0, CHECKSUM_PREFIX_BYTES.length);
+        writeHex(crc.getValue(), suffix, CHECKSUM_PREFIX_BYTES.length);
+        System.arraycopy(LINE_SEPARATOR_BYTES, 0, suffix, CHECKSUM_SUFFIX_LENGTH, LINE_SEPARATOR_BYTES.length);
+        out.write(record);
+        out.write(suffix);
+    }
+
+    /**
+     * Returns the value of a hexadecimal digit, or -1 if the byte is not a lowercase hexadecimal digit.
+     */
+    static int hexValue(byte digit) {
+        if (digit >= '0' && digit <= '9') {
+            return digit - '0';
+        } else if (digit >= 'a' && digit <= 'f') {
+            return digit - 'a' + 10;
+        }
+        return -1;
+    }
+
+    private static void writeHex(long value, byte[] digits) {
+        writeHex(value, digits, 0);
+    }
+
+    private static void writeHex(long value, byte[] digits, int offset) {
+        for (int i = CHECKSUM_DIGITS - 1; i >= 0; i--) {
+            digits[offset + i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    /**
+     * Encodes a task as a line of the current version, without the checksum and line terminator.
+     *
+     * @param task The task to encode.
+     * @return The encoded task.
+     */
+    static String encode(Task task) {
+        String type = task instanceof ToDo ? "T" : task instanceof Deadline ? "D" : "E";
+        String isDone = task.isDone() ? "1" : "0";
+        StringBuilder line = new StringBuilder(type).append(DELIMITER).append(isDone).append(DELIMITER)
+                .append(task.getDescription());
+        if (task instanceof Deadline) {
+            line.append(DELIMITER).append(((Deadline) task).getBy());
+        } else if (task instanceof Event) {
+            line.append(DELIMITER).append(((Event) task).getFrom()).append(DELIMITER).append(((Event) task).getTo());
+        }
+        if (task.getId() != Task.NO_ID) {
+            line.append(DELIMITER).append(FIELD_ID).append(KEY_SEPARATOR).append(task.getId());
+        }
+        if (task.hasTag()) {
+            line.append(DELIMITER).append(FIELD_TAG).append(KEY_SEPARATOR).append(task.getTag());
+        }
+        return line.toString();
+    }
+
+    /**
+     * Decodes a task from a line of any supported version.
+     *
+     * @param line The encoded task, without the line terminator.
+     * @return The decoded task.
+     * @throws IOException If the line is malformed.
+     */
+    static Task decode(String line) throws IOException {
+        String[] fields = line.split(" \\| ");
+        if (fields.length < 3) {
+            throw new IOException("Error parsing line: " + line);
+        }
+        boolean isDone = fields[1].equals("1");
+        String description = fields[2];
+        Task task;
+        int optionalStart;
+        try {
+            switch (fields[0]) {
+            case "T":
+                task = new ToDo(description, isDone);
+                optionalStart = 3;
+                break;
+            case "D":
+                task = new Deadline(description, fields[3], isDone);
+                optionalStart = 4;
+                break;
+            case "E":
+                task = new Event(description, fields[3], fields[4], isDone);
+                optionalStart = 5;
+                break;
+            default:
+                throw new IOException("Invalid task type in file");
+            }
+            for (int i = optionalStart; i < fields.length; i++) {
+                int separator = fields[i].indexOf(KEY_SEPARATOR);
+                if (separator > 0) {
+                    applyField(task, fields[i].substring(0, separator), fields[i].substring(separator + 1));
+                }
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Error parsing line: " + line, e);
+        }
+        return task;
+    }
+
+    /**
+     * Sets the optional field with the specified key on the task. Unknown keys are ignored.
+     *
+     * @param task The task to set the field on.
+     * @param key The key of the field.
+     * @param value The value of the field.
+     * @throws NumberFormatException If the ID is not a number.
+     */
+    static void applyField(Task task, String key, String value) {
+        switch (key) {
+        case FIELD_ID:
+            task.setId(Long.parseLong(value));
+            break;
+        case FIELD_TAG:
+            task.setTag(value);
+            break;
+        default:
+            break;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package duke.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import duke.components.Deadline;
+import duke.components.Event;
+import duke.components.Task;
+import duke.components.ToDo;
+
+/**
+ * Reads the pipe-delimited task file in one read and scans the bytes directly, without going through a Scanner
+ * or splitting each line with a regex.
+ * The file is read into a heap buffer rather than memory-mapped, so that no mapping outlives the read and keeps
+ * the file from being replaced right afterwards, which Windows does not allow while a file is mapped.
+ * Files of every version of the {@link TextTaskFormat} are read in one pass: the header line, if any, is checked
+ * and skipped, and optional fields are read wherever they occur.
+ * <p>
+ * Lines whose checksum does not match are skipped and counted, so that a damaged file still yields every task
+ * that is intact. A line that cannot be parsed although its checksum matches, or that has no checksum, fails the
+ * read instead, since it cannot be told apart from a task that a newer or hand-edited file stores differently.
+ */
+final class TextTaskReader {
+    private static final byte NEWLINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final byte SPACE = ' ';
+    private static final byte PIPE = '|';
+    private static final byte HASH = '#';
+    private static final int DELIMITER_LENGTH = 3;
+
+    private final ByteBuffer buffer;
+    private final ByteBuffer checksumView;
+    private final CRC32 crc = new CRC32();
+    private final int limit;
+
+    private TextTaskReader(ByteBuffer buffer, int limit) {
+        this.buffer = buffer;
+        this.checksumView = buffer.duplicate();
+        this.limit = limit;
+    }
+
+    /**
+     * Reads all intact tasks from the specified file.
+     *
+     * @param file The task file to read.
+     * @return The tasks in the order they appear in the file, and the number of damaged lines that were skipped.
+     * @throws IOException If the file cannot be read, has an invalid header or an unsupported version, or has a
+     *     line that cannot be parsed without failing its checksum.
+     */
+    static SnapshotContents read(File file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        if (bytes.length == 0) {
+            return new SnapshotContents(new ArrayList<>(), TextTaskFormat.VERSION, 0, 0);
+        }
+        return new TextTaskReader(ByteBuffer.wrap(bytes), bytes.length).readAll();
+    }
+
+    private SnapshotContents readAll() throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        int version = 1;
+        long generation = 0;
+        int skippedRecords = 0;
+        int lineStart = 0;
+        while (lineStart < limit) {
+            int lineEnd = indexOf(NEWLINE, lineStart, limit);
+            int contentEnd = lineEnd;
+            if (contentEnd > lineStart && buffer.get(contentEnd - 1) == CARRIAGE_RETURN) {
+                contentEnd--;
+            }
+            if (lineStart == 0 && contentEnd > 0 && buffer.get(0) == HASH) {
+                String header = decode(0, contentEnd);
+                version = TextTaskFormat.parseVersion(header);
+                generation = TextTaskFormat.parseGeneration(header);
+            } else if (contentEnd > lineStart) {
+                Task task = readRecord(lineStart, contentEnd);
+                if (task == null) {
+                    skippedRecords++;
+                } else {
+                    tasks.add(task);
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return new SnapshotContents(tasks, version, generation, skippedRecords);
+    }
+
+    /**
+     * Returns the task on a line, or null if its checksum does not match.
+     *
+     * @throws IOException If the line cannot be parsed.
+     */
+    private Task readRecord(int start, int end) throws IOException {
+        int recordEnd = verifyChecksum(start, end);
+        if (recordEnd < 0) {
+            return null;
+        }
+        try {
+            return readTask(start, recordEnd);
+        } catch (RuntimeException e) {
+            throw new IOException("Invalid task in file: " + decode(start, end), e);
+        }
+    }
+
+    /**
+     * Checks the checksum field at the end of a line, if there is one.
+     *
+     * @return The end of the record before the checksum field, or -1 if the checksum does not match.
+     */
+    private int verifyChecksum(int start, int end) {
+        int prefixStart = end - TextTaskFormat.CHECKSUM_SUFFIX_LENGTH;
+        if (prefixStart < start || !hasChecksumPrefix(prefixStart)) {
+            return end;
+        }
+        long expected = 0;
+        for (int i = end - TextTaskFormat.CHECKSUM_DIGITS; i < end; i++) {
+            int digit = TextTaskFormat.hexValue(buffer.get(i));
+            if (digit < 0) {
+                return -1;
+            }
+            expected = expected << 4 | digit;
+        }
+        crc.reset();
+        checksumView.clear();
+        checksumView.position(start).limit(prefixStart);
+        crc.update(checksumView);
+        return crc.getValue() == expected ? prefixStart : -1;
+    }
+
+    private boolean hasChecksumPrefix(int from) {
+        String prefix = TextTaskFormat.CHECKSUM_PREFIX;
+        for (int i = 0; i < prefix.length(); i++) {
+            if (buffer.get(from + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Task readTask(int start, int end) throws IOException {
+        try {
+            return readFields(start, end);
+        } catch (DateTimeException | NumberFormatException e) {
+            throw malformed(start, end);
+        }
+    }
+
+    private Task readFields(int start, int end) throws IOException {
+        int typeEnd = fieldEnd(start, end);
+        int doneStart = typeEnd + DELIMITER_LENGTH;
+        int doneEnd = fieldEnd(doneStart, end);
+        int descriptionStart = doneEnd + DELIMITER_LENGTH;
+        if (typeEnd - start != 1 || doneEnd - doneStart != 1 || descriptionStart > end) {
+            throw malformed(start, end);
+        }
+        boolean isDone = buffer.get(doneStart) == '1';
+        int descriptionEnd = fieldEnd(descriptionStart, end);
+        String description = decode(descriptionStart, descriptionEnd);
+
+        Task task;
+        int lastFieldEnd;
+        switch (buffer.get(start)) {
+        case 'T':
+            task = new ToDo(description, isDone);
+            lastFieldEnd = descriptionEnd;
+            break;
+        case 'D': {
+            int byStart = descriptionEnd + DELIMITER_LENGTH;
+            if (byStart > end) {
+                throw malformed(start, end);
+            }
+            lastFieldEnd = fieldEnd(byStart, end);
+            task = new Deadline(description, readDateTime(byStart, lastFieldEnd), isDone);
+            break;
+        }
+        case 'E': {
+            int fromStart = descriptionEnd + DELIMITER_LENGTH;
+            int fromEnd = fieldEnd(fromStart, end);
+            int toStart = fromEnd + DELIMITER_LENGTH;
+            if (fromStart > end || toStart > end) {
+                throw malformed(start, end);
+            }
+            lastFieldEnd = fieldEnd(toStart, end);
+            task = new Event(description, readDateTime(fromStart, fromEnd), readDateTime(toStart, lastFieldEnd),
+                    isDone);
+            break;
+        }
+        default:
+            throw new IOException("Invalid task type in file");
+        }
+        readOptionalFields(task, lastFieldEnd, end);
+        return task;
+    }
+
+    /**
+     * Reads the {@code key=value} fields that follow the required fields of a task. Fields without a key are
+     * ignored, like the fields of unknown keys.
+     */
+    private void readOptionalFields(Task task, int from, int end) {
+        int fieldStart = from + DELIMITER_LENGTH;
+        while (fieldStart <= end) {
+            int valueEnd = fieldEnd(fieldStart, end);
+            int separator = indexOf((byte) TextTaskFormat.KEY_SEPARATOR, fieldStart, valueEnd);
+            if (separator > fieldStart && separator < valueEnd) {
+                TextTaskFormat.applyField(task, decode(fieldStart, separator), decode(separator + 1, valueEnd));
+            }
+            fieldStart = valueEnd + DELIMITER_LENGTH;
+        }
+    }
+
+    /**
+     * Returns the position of the next " | " delimiter at or after {@code from}, or {@code end} if there is none.
+     * The '|' byte never occurs inside a multi-byte UTF-8 sequence, so scanning raw bytes is safe.
+     */
+    private int fieldEnd(int from, int end) {
+        for (int i = from + 1; i < end - 1; i++) {
+            if (buffer.get(i) == PIPE && buffer.get(i - 1) == SPACE && buffer.get(i + 1) == SPACE) {
+                return i - 1;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Parses a date and time in the format "d/M/yyyy HHmm" directly from the bytes.
+     * Dates the fast path rejects, such as "1/1/2024 2400", which the formatter resolves to midnight of the next
+     * day, are parsed with the formatter the dates were entered with.
+     */
+    private LocalDateTime readDateTime(int from, int to) {
+        try {
+            return readPlainDateTime(from, to);
+        } catch (DateTimeException e) {
+            return LocalDateTime.parse(decode(from, to), Deadline.getInputFormatter());
+        }
+    }
+
+    private LocalDateTime readPlainDateTime(int from, int to) {
+        int dayEnd = indexOf((byte) '/', from, to);
+        int monthEnd = indexOf((byte) '/', dayEnd + 1, to);
+        int yearEnd = indexOf(SPACE, monthEnd + 1, to);
+        if (yearEnd + 5 != to) {
+            throw new DateTimeException("Invalid date: " + decode(from, to));
+        }
+        return LocalDateTime.of(readNumber(monthEnd + 1, yearEnd), readNumber(dayEnd + 1, monthEnd),
+                readNumber(from, dayEnd), readNumber(yearEnd + 1, yearEnd + 3), readNumber(yearEnd + 3, to));
+    }
+
+    private int readNumber(int from, int to) {
+        if (from >= to) {
+            throw new DateTimeException("Missing number");
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new DateTimeException("Invalid digit");
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private int indexOf(byte target, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (buffer.get(i) == target) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    private String decode(int from, int to) {
+        byte[] bytes = new byte[to - from];
+        buffer.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private IOException malformed(int start, int end) {
+        return new IOException("Error parsing line: " + decode(start, end));
+    }
+}
@@ -0,0 +1,7 @@
+package duke.exceptions;
+
+public class InvalidDateRangeException extends AdventureGuideException {
+    public InvalidDateRangeException() {
+        super("OOPS!!! The start of the date range cannot be after its end.");
+    }
+}
@@ -0,0 +1,7 @@
+package duke.exceptions;
+
+public class InvalidPageNumberException extends AdventureGuideException {
+    public InvalidPageNumberException() {
+        super("OOPS!!! The page number is invalid.");
+    }
+}
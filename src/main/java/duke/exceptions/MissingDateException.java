@@ -0,0 +1,7 @@
+package duke.exceptions;
+
+public class MissingDateException extends AdventureGuideException {
+    public MissingDateException(String command) {
+        super("OOPS!!! The " + command + " command needs a date.");
+    }
+}
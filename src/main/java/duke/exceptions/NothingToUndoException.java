@@ -0,0 +1,7 @@
+package duke.exceptions;
+
+public class NothingToUndoException extends AdventureGuideException {
+    public NothingToUndoException(String command) {
+        super("OOPS!!! There is nothing to " + command + ".");
+    }
+}
@@ -0,0 +1,7 @@
+package duke.exceptions;
+
+public class UndatedTaskException extends AdventureGuideException {
+    public UndatedTaskException() {
+        super("OOPS!!! This task has no date.");
+    }
+}
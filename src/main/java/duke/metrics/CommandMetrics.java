@@ -0,0 +1,29 @@
+package duke.metrics;
+
+/**
+ * The latencies of one type of command, split into parsing the input, executing the command and persisting
+ * its changes.
+ */
+public final class CommandMetrics {
+    private final LatencyHistogram parse = new LatencyHistogram();
+    private final LatencyHistogram execute = new LatencyHistogram();
+    private final LatencyHistogram persist = new LatencyHistogram();
+
+    CommandMetrics() {
+    }
+
+    public LatencyHistogram getParse() {
+        return parse;
+    }
+
+    public LatencyHistogram getExecute() {
+        return execute;
+    }
+
+    /**
+     * Returns the latencies of persisting changes, recorded only for commands that persisted anything.
+     */
+    public LatencyHistogram getPersist() {
+        return persist;
+    }
+}
@@ -0,0 +1,99 @@
+package duke.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of latencies in nanoseconds, with one bucket per power of two.
+ * <p>
+ * Recording is a few adds to {@link LongAdder}s, so many threads can record without contending, and the
+ * buckets bound every percentile to within a factor of two. Readings taken while other threads record may
+ * be slightly out of step with each other, which is fine for monitoring.
+ */
+public final class LatencyHistogram {
+    private static final int BUCKET_COUNT = Long.SIZE;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+    /**
+     * Constructs an empty histogram.
+     */
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a latency. Negative latencies, which a clock adjustment could produce, are recorded as 0.
+     *
+     * @param nanos The latency in nanoseconds.
+     */
+    public void record(long nanos) {
+        long latency = Math.max(0, nanos);
+        buckets[Long.SIZE - Long.numberOfLeadingZeros(latency)].increment();
+        count.increment();
+        totalNanos.add(latency);
+        maxNanos.accumulate(latency);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the mean of the recorded latencies.
+     *
+     * @return The mean latency in nanoseconds, or 0 if nothing has been recorded.
+     */
+    public long getMeanNanos() {
+        long recorded = count.sum();
+        return recorded == 0 ? 0 : totalNanos.sum() / recorded;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Returns an upper bound of the latency below which the specified fraction of the recorded latencies lie.
+     * The bound is the top of the bucket holding the percentile, capped at the maximum latency.
+     *
+     * @param fraction The fraction of latencies, such as 0.99 for the 99th percentile.
+     * @return The percentile in nanoseconds, or 0 if nothing has been recorded.
+     */
+    public long getPercentileNanos(double fraction) {
+        long[] counts = new long[BUCKET_COUNT];
+        long recorded = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets[i].sum();
+            recorded += counts[i];
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * recorded));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                // Bucket i holds the latencies below 2^i; for i = 63 this wraps around to Long.MAX_VALUE.
+                return Math.min((1L << i) - 1, getMaxNanos());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the count, mean, 99th percentile and maximum of the latencies, in microseconds.
+     */
+    @Override
+    public String toString() {
+        return String.format("%d x mean %.1f us, p99 %.1f us, max %.1f us", getCount(), toMicros(getMeanNanos()),
+                toMicros(getPercentileNanos(0.99)), toMicros(getMaxNanos()));
+    }
+
+    static double toMicros(long nanos) {
+        return nanos / 1000.0;
+    }
+}
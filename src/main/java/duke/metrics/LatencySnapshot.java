@@ -0,0 +1,57 @@
+package duke.metrics;
+
+import javax.management.ConstructorParameters;
+
+/**
+ * The statistics of a {@link LatencyHistogram} at one point in time, as exposed through JMX.
+ */
+public final class LatencySnapshot {
+    private final long count;
+    private final long meanNanos;
+    private final long p50Nanos;
+    private final long p99Nanos;
+    private final long maxNanos;
+
+    /**
+     * Constructs a snapshot from its statistics.
+     */
+    @ConstructorParameters({ "count", "meanNanos", "p50Nanos", "p99Nanos", "maxNanos" })
+    public LatencySnapshot(long count, long meanNanos, long p50Nanos, long p99Nanos, long maxNanos) {
+        this.count = count;
+        this.meanNanos = meanNanos;
+        this.p50Nanos = p50Nanos;
+        this.p99Nanos = p99Nanos;
+        this.maxNanos = maxNanos;
+    }
+
+    /**
+     * Takes a snapshot of the specified histogram.
+     *
+     * @param histogram The histogram.
+     * @return The snapshot.
+     */
+    static LatencySnapshot of(LatencyHistogram histogram) {
+        return new LatencySnapshot(histogram.getCount(), histogram.getMeanNanos(),
+                histogram.getPercentileNanos(0.5), histogram.getPercentileNanos(0.99), histogram.getMaxNanos());
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMeanNanos() {
+        return meanNanos;
+    }
+
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+}
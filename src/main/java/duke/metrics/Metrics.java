@@ -0,0 +1,134 @@
+package duke.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * The process-wide latency metrics of commands and storage.
+ * <p>
+ * Metrics are on by default and are turned off with {@code -Dduke.metrics=false}. Every recording site checks
+ * {@link #IS_ENABLED} first, and as it is a constant, the JIT compiler removes the timing code altogether when
+ * metrics are off.
+ */
+public final class Metrics {
+    /** The system property that turns metrics off when set to "false". */
+    public static final String ENABLED_PROPERTY = "duke.metrics";
+    /** Whether metrics are recorded. */
+    public static final boolean IS_ENABLED = !"false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY));
+    /** The JMX object name of the {@link MetricsMXBean}. */
+    public static final String OBJECT_NAME = "duke:type=Metrics";
+
+    /** The latencies of loading the tasks. */
+    public static final LatencyHistogram STORAGE_LOAD = new LatencyHistogram();
+    /** The latencies of saving a snapshot of all tasks, or of queueing it in asynchronous mode. */
+    public static final LatencyHistogram STORAGE_SNAPSHOT = new LatencyHistogram();
+    /** The latencies of appending to the journal, or of queueing the records in asynchronous mode. */
+    public static final LatencyHistogram STORAGE_JOURNAL = new LatencyHistogram();
+    /** The latencies of the writes that asynchronous storage performs in the background. */
+    public static final LatencyHistogram STORAGE_BACKGROUND_WRITE = new LatencyHistogram();
+
+    private static final ConcurrentMap<String, CommandMetrics> COMMANDS = new ConcurrentHashMap<>();
+    private static boolean isRegistered;
+
+    private Metrics() {
+    }
+
+    /**
+     * Returns the metrics of the specified command, creating them on first use.
+     *
+     * @param commandWord The command word, such as "todo".
+     * @return The metrics of the command.
+     */
+    public static CommandMetrics forCommand(String commandWord) {
+        CommandMetrics metrics = COMMANDS.get(commandWord);
+        return metrics != null ? metrics : COMMANDS.computeIfAbsent(commandWord, word -> new CommandMetrics());
+    }
+
+    /**
+     * Returns a snapshot of every latency recorded so far, keyed by names such as "todo.execute".
+     */
+    public static Map<String, LatencySnapshot> getLatencies() {
+        Map<String, LatencySnapshot> latencies = new TreeMap<>();
+        for (Map.Entry<String, CommandMetrics> entry : COMMANDS.entrySet()) {
+            CommandMetrics metrics = entry.getValue();
+            latencies.put(entry.getKey() + ".parse", LatencySnapshot.of(metrics.getParse()));
+            latencies.put(entry.getKey() + ".execute", LatencySnapshot.of(metrics.getExecute()));
+            latencies.put(entry.getKey() + ".persist", LatencySnapshot.of(metrics.getPersist()));
+        }
+        latencies.put("storage.load", LatencySnapshot.of(STORAGE_LOAD));
+        latencies.put("storage.snapshot", LatencySnapshot.of(STORAGE_SNAPSHOT));
+        latencies.put("storage.journal", LatencySnapshot.of(STORAGE_JOURNAL));
+        latencies.put("storage.backgroundWrite", LatencySnapshot.of(STORAGE_BACKGROUND_WRITE));
+        return latencies;
+    }
+
+    /**
+     * Returns a report of the mean and 99th percentile latencies of each command and of storage.
+     */
+    public static String getReport() {
+        StringBuilder report = new StringBuilder("Here are the command latencies (mean/p99):");
+        Map<String, CommandMetrics> commands = new TreeMap<>(COMMANDS);
+        if (commands.isEmpty()) {
+            report.append("\nNo commands have been run yet.");
+        }
+        for (Map.Entry<String, CommandMetrics> entry : commands.entrySet()) {
+            CommandMetrics metrics = entry.getValue();
+            report.append('\n').append(entry.getKey()).append(" x").append(metrics.getParse().getCount())
+                    .append(": parse ").append(formatLatency(metrics.getParse()));
+            if (metrics.getExecute().getCount() > 0) {
+                report.append(", execute ").append(formatLatency(metrics.getExecute()));
+            }
+            if (metrics.getPersist().getCount() > 0) {
+                report.append(", persist ").append(formatLatency(metrics.getPersist()));
+            }
+        }
+        report.append("\nStorage: load ").append(STORAGE_LOAD)
+                .append("\n  snapshot ").append(STORAGE_SNAPSHOT)
+                .append("\n  journal ").append(STORAGE_JOURNAL)
+                .append("\n  background writes ").append(STORAGE_BACKGROUND_WRITE);
+        return report.toString();
+    }
+
+    /**
+     * Registers the {@link MetricsMXBean} with the platform MBean server, so that tools such as JConsole can
+     * read the metrics. Does nothing if metrics are disabled or the bean is already registered.
+     */
+    public static synchronized void registerMBean() {
+        if (!IS_ENABLED || isRegistered) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricsBean(), new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // Another class loader in the same process registered it first.
+        } catch (JMException e) {
+            System.err.println("Could not register metrics MBean: " + e.getMessage());
+            return;
+        }
+        isRegistered = true;
+    }
+
+    private static String formatLatency(LatencyHistogram histogram) {
+        return String.format("%.1f/%.1f us", LatencyHistogram.toMicros(histogram.getMeanNanos()),
+                LatencyHistogram.toMicros(histogram.getPercentileNanos(0.99)));
+    }
+
+    private static class MetricsBean implements MetricsMXBean {
+        @Override
+        public Map<String, LatencySnapshot> getLatencies() {
+            return Metrics.getLatencies();
+        }
+
+        @Override
+        public String getReport() {
+            return Metrics.getReport();
+        }
+    }
+}
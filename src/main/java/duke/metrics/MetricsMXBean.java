@@ -0,0 +1,18 @@
+package duke.metrics;
+
+import java.util.Map;
+
+/**
+ * Exposes the command and storage latencies through JMX, under {@link Metrics#OBJECT_NAME}.
+ */
+public interface MetricsMXBean {
+    /**
+     * Returns the latencies recorded so far, keyed by names such as "todo.execute" and "storage.journal".
+     */
+    Map<String, LatencySnapshot> getLatencies();
+
+    /**
+     * Returns the same report as the "stats" command.
+     */
+    String getReport();
+}
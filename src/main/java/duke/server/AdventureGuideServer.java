@@ -0,0 +1,227 @@
+package duke.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import duke.ui.AdventureGuideBot;
+
+/**
+ * Serves an AdventureGuideBot to many clients over TCP on the loopback interface.
+ * <p>
+ * Each client sends one command per line. The server answers with the lines of the response followed by a line
+ * containing a single ".". Response lines starting with "." get an extra "." in front, which the client removes.
+ * A "bye" command is answered and then ends the connection.
+ * <p>
+ * Every connection is served by its own thread. The commands of all clients run one at a time on the shared bot,
+ * so that the journal records the changes in the order they are made to the tasks.
+ */
+public class AdventureGuideServer implements AutoCloseable {
+    /** The Launcher option that starts the server instead of the GUI. */
+    public static final String SERVER_OPTION = "--server";
+    public static final int DEFAULT_PORT = 4444;
+    static final String END_OF_RESPONSE = ".";
+    private static final int BACKLOG = 128;
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+    private final AdventureGuideBot bot;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connectionExecutor;
+    private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
+    private final ServerMetrics metrics = new ServerMetrics();
+    private final CountDownLatch closed = new CountDownLatch(1);
+    private volatile boolean isClosed;
+
+    /**
+     * Constructs a server that serves each connection on a daemon platform thread.
+     *
+     * @param bot The bot shared by all clients.
+     * @param port The port to listen on, or 0 for any free port.
+     * @throws IOException If the port cannot be opened.
+     */
+    public AdventureGuideServer(AdventureGuideBot bot, int port) throws IOException {
+        this(bot, port, new ThreadFactory() {
+            private final AtomicInteger connectionCount = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "server-connection-" + connectionCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Constructs a server that serves each connection on a thread created by the specified factory.
+     * On Java 21 and later, {@code Thread.ofVirtual().factory()} serves each connection on a virtual thread.
+     *
+     * @param bot The bot shared by all clients.
+     * @param port The port to listen on, or 0 for any free port.
+     * @param threadFactory The factory that creates the connection threads.
+     * @throws IOException If the port cannot be opened.
+     */
+    public AdventureGuideServer(AdventureGuideBot bot, int port, ThreadFactory threadFactory) throws IOException {
+        this.bot = bot;
+        this.serverSocket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+        this.connectionExecutor = Executors.newCachedThreadPool(threadFactory);
+    }
+
+    /**
+     * Starts accepting connections on a background thread.
+     */
+    public void start() {
+        Thread acceptor = new Thread(this::acceptConnections, "server-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public ServerMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Blocks until the server is closed.
+     *
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public void awaitClose() throws InterruptedException {
+        closed.await();
+    }
+
+    /**
+     * Stops accepting connections, disconnects all clients and waits for running commands to finish.
+     *
+     * @throws IOException If the server socket cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        isClosed = true;
+        try {
+            serverSocket.close();
+            for (Socket client : clients) {
+                client.close();
+            }
+            connectionExecutor.shutdown();
+            connectionExecutor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closed.countDown();
+        }
+    }
+
+    private void acceptConnections() {
+        while (!isClosed) {
+            try {
+                Socket client = serverSocket.accept();
+                client.setTcpNoDelay(true);
+                clients.add(client);
+                connectionExecutor.execute(() -> serve(client));
+            } catch (IOException e) {
+                if (!isClosed) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    private void serve(Socket client) {
+        try (client;
+                BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(),
+                        StandardCharsets.UTF_8));
+                Writer out = new BufferedWriter(new OutputStreamWriter(client.getOutputStream(),
+                        StandardCharsets.UTF_8))) {
+            String command;
+            while ((command = in.readLine()) != null) {
+                long start = System.nanoTime();
+                String response;
+                synchronized (bot) {
+                    response = bot.getResponse(command);
+                }
+                writeResponse(out, response);
+                out.flush();
+                metrics.record(System.nanoTime() - start);
+                if (command.equals("bye")) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            // The client has disconnected.
+        } finally {
+            clients.remove(client);
+        }
+    }
+
+    /**
+     * Writes the lines of the response, adding a "." in front of lines that start with one, and then the line
+     * that ends the response.
+     */
+    static void writeResponse(Writer out, String response) throws IOException {
+        for (String line : response.split("\n", -1)) {
+            if (line.startsWith(END_OF_RESPONSE)) {
+                out.write(END_OF_RESPONSE);
+            }
+            out.write(line);
+            out.write('\n');
+        }
+        out.write(END_OF_RESPONSE);
+        out.write('\n');
+    }
+
+    /**
+     * Serves the tasks in the default storage on the port given in the arguments, or the default port,
+     * until the process is stopped.
+     *
+     * @param args The command line arguments.
+     * @throws IOException If the port cannot be opened.
+     * @throws InterruptedException If interrupted while serving.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = DEFAULT_PORT;
+        if (args.length > 0) {
+            try {
+                port = Integer.parseInt(args[0]);
+            } catch (NumberFormatException e) {
+                System.err.println("Usage: [port]");
+                return;
+            }
+        }
+        AdventureGuideBot bot = new AdventureGuideBot();
+        if (bot.getLoadingError() != null) {
+            System.err.println(bot.getLoadingError());
+        }
+        AdventureGuideServer server = new AdventureGuideServer(bot, port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+                bot.shutdown();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            System.err.println(server.getMetrics());
+        }));
+        server.start();
+        System.err.println("Adventure Guide is listening on port " + server.getPort());
+        server.awaitClose();
+    }
+}
@@ -0,0 +1,56 @@
+package duke.server;
+
+import duke.metrics.LatencyHistogram;
+
+/**
+ * Collects the latency of requests handled by an {@link AdventureGuideServer}.
+ * Recording is lock-free, so connection threads do not contend on the metrics.
+ */
+public class ServerMetrics {
+    private static final double NANOS_PER_MICRO = 1000.0;
+
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    /**
+     * Records a handled request.
+     *
+     * @param latencyNanos The time from reading the request to writing its response, in nanoseconds.
+     */
+    void record(long latencyNanos) {
+        latencies.record(latencyNanos);
+    }
+
+    public long getRequestCount() {
+        return latencies.getCount();
+    }
+
+    /**
+     * Returns the mean latency of the handled requests.
+     *
+     * @return The mean latency in nanoseconds, or 0 if no request has been handled.
+     */
+    public long getMeanLatencyNanos() {
+        return latencies.getMeanNanos();
+    }
+
+    /**
+     * Returns an upper bound of the latency of 99% of the handled requests.
+     *
+     * @return The 99th percentile latency in nanoseconds, within a factor of two, or 0 if no request has been
+     *         handled.
+     */
+    public long getP99LatencyNanos() {
+        return latencies.getPercentileNanos(0.99);
+    }
+
+    public long getMaxLatencyNanos() {
+        return latencies.getMaxNanos();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d requests, mean latency %.1f us, p99 latency %.1f us, max latency %.1f us",
+                getRequestCount(), getMeanLatencyNanos() / NANOS_PER_MICRO, getP99LatencyNanos() / NANOS_PER_MICRO,
+                getMaxLatencyNanos() / NANOS_PER_MICRO);
+    }
+}
@@ -1,39 +1,67 @@
 package duke.ui;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.util.BitSet;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.function.Consumer;
 
+import duke.components.Command;
+import duke.components.CommandType;
 import duke.components.Deadline;
 import duke.components.Event;
 import duke.components.Parser;
+import duke.components.ReminderScheduler;
 import duke.components.Task;
 import duke.components.TaskList;
-import duke.components.ToDo;
 import duke.data.Storage;
+import duke.data.TaskRepository;
 import duke.exceptions.*;
+import duke.metrics.CommandMetrics;
+import duke.metrics.Metrics;
 
 /**
  * The bot that interacts with the user and manages tasks.
  */
 public class AdventureGuideBot {
+    private static final String TASK_ID_PREFIX = "@";
+    private static final String SELECTION_SEPARATOR = ",";
+    private static final String RANGE_SEPARATOR = "-";
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final String LIST_HEADER = "Here are the tasks in your list";
+    private static final DateTimeFormatter DAY_FORMATTER = DateTimeFormatter.ofPattern("MMM d yyyy");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("MMM d yyyy HH:mm");
+    /** The name under which input that cannot be parsed into a command is timed. */
+    private static final String INVALID_COMMAND = "invalid";
+
     private boolean isLoaded = true;
     private TaskList tasks;
-    private Storage storage;
+    private TaskRepository storage;
     private Ui ui;
-    private DateTimeFormatter EventInputFormatter = Event.getInputFormatter();
-    private DateTimeFormatter DeadlineInputFormatter = Deadline.getInputFormatter();
+    private ReminderScheduler reminders;
+    private final UndoHistory history = new UndoHistory(UndoHistory.DEFAULT_CAPACITY);
+    private int pageSize = DEFAULT_PAGE_SIZE;
+    private long persistNanos;
+    private boolean hasPersisted;
 
     /**
      * Constructs an AdventureGuideBot and initializes the storage and task list.
      */
     public AdventureGuideBot() {
+        this(createDefaultStorage());
+    }
 
-        storage = new Storage();
+    /**
+     * Constructs an AdventureGuideBot that keeps its tasks in the specified repository.
+     *
+     * @param storage The repository to load tasks from and save tasks to.
+     */
+    public AdventureGuideBot(TaskRepository storage) {
+        this.storage = storage;
         ui = new Ui();
         try {
             List<Task> loadedTasks = storage.load();
@@ -44,6 +72,55 @@ public class AdventureGuideBot {
         }
     }
 
+    /**
+     * Returns the default file storage, which writes in the background so that commands do not wait for the disk.
+     */
+    private static Storage createDefaultStorage() {
+        Storage storage = new Storage();
+        try {
+            storage.setAsync(true);
+        } catch (IOException e) {
+            // Only disabling asynchronous mode writes anything, so enabling it cannot fail.
+            throw new UncheckedIOException(e);
+        }
+        return storage;
+    }
+
+    /**
+     * Writes all pending changes to disk and stops background persistence.
+     *
+     * @throws IOException If the pending changes could not be written.
+     */
+    public void shutdown() throws IOException {
+        if (reminders != null) {
+            reminders.close();
+        }
+        storage.close();
+    }
+
+    /**
+     * Starts reminding the user of deadlines that are coming up and events that are about to start, a lead time
+     * of {@link ReminderScheduler#DEFAULT_LEAD_TIME} before each. Reminders follow the changes made through
+     * commands, so marking or deleting a task cancels its reminder.
+     *
+     * @param onReminder The callback that receives each reminder message, run on the reminder timer thread.
+     */
+    public void startReminders(Consumer<String> onReminder) {
+        if (reminders != null) {
+            reminders.close();
+        }
+        reminders = new ReminderScheduler(tasks, ReminderScheduler.DEFAULT_LEAD_TIME,
+                reminder -> onReminder.accept(formatReminder(reminder)));
+    }
+
+    private static String formatReminder(ReminderScheduler.Reminder reminder) {
+        String when = reminder.getDueDateTime().format(TIME_FORMATTER);
+        String header = reminder.getTask() instanceof Event
+                ? "Reminder: this event starts at " + when + ":"
+                : "Reminder: this task is due at " + when + ":";
+        return header + "\n" + reminder.getTask();
+    }
+
     /**
      * Returns the response to the user input.
      * 
@@ -51,104 +128,252 @@ public class AdventureGuideBot {
      * @return The response to the user input.
      */
     public String getResponse(String input) {
+        long parseStart = Metrics.IS_ENABLED ? System.nanoTime() : 0;
+        Command command;
+        try {
+            command = Parser.parse(input);
+        } catch (AdventureGuideException | RuntimeException e) {
+            if (Metrics.IS_ENABLED) {
+                Metrics.forCommand(INVALID_COMMAND).getParse().record(System.nanoTime() - parseStart);
+            }
+            return e instanceof AdventureGuideException ? e.getMessage() : reportUnexpected(e);
+        }
+        CommandMetrics metrics = null;
+        long executeStart = 0;
+        if (Metrics.IS_ENABLED) {
+            executeStart = System.nanoTime();
+            metrics = Metrics.forCommand(command.getType().getWord());
+            metrics.getParse().record(executeStart - parseStart);
+            persistNanos = 0;
+            hasPersisted = false;
+        }
         try {
-            String[] parsedCommand = Parser.parse(input);
-            String commandWord = parsedCommand[0];
-            String commandArgs = parsedCommand[1];
-            return executeCommand(commandWord, commandArgs);
+            return executeCommand(command);
         } catch (AdventureGuideException e) {
             return e.getMessage();
         } catch (Exception e) {
-            e.printStackTrace();
-            return "OOPS!!! An unexpected error occurred.";
+            return reportUnexpected(e);
+        } finally {
+            if (Metrics.IS_ENABLED) {
+                metrics.getExecute().record(System.nanoTime() - executeStart - persistNanos);
+                if (hasPersisted) {
+                    metrics.getPersist().record(persistNanos);
+                }
+            }
         }
     }
 
     /**
-     * Executes the command based on the command word and arguments.
+     * Logs an exception that no handler expected and returns the error response, so that it never reaches the
+     * thread that asked for the response.
+     */
+    private static String reportUnexpected(Exception e) {
+        e.printStackTrace();
+        return "OOPS!!! An unexpected error occurred.";
+    }
+
+    /**
+     * Executes the parsed command.
      * 
-     * @param commandWord The command word.
-     * @param commandArgs The command arguments.
+     * @param command The command.
      * @return The response to the command.
      * @throws AdventureGuideException If an error occurs during command execution.
      * @throws IOException If an error occurs during file operations.
      */
-    private String executeCommand(String commandWord, String commandArgs) throws AdventureGuideException, IOException {
-        switch (commandWord) {
-        case "bye":
+    private String executeCommand(Command command) throws AdventureGuideException, IOException {
+        String commandArgs = command.getArgs();
+        switch (command.getType()) {
+        case BYE:
+            flush();
             return "Farewell, adventurer! May your path be clear and your tasks conquered. Until our next quest!";
-        case "list":
-            return handleList();
-        case "mark":
+        case LIST:
+            return handleList(commandArgs);
+        case MARK:
             return handleMark(commandArgs);
-        case "unmark":
+        case UNMARK:
             return handleUnmark(commandArgs);
-        case "todo":
-            return handleTodo(commandArgs);
-        case "deadline":
-            return handleDeadline(commandArgs);
-        case "event":
-            return handleEvent(commandArgs);
-        case "delete":
+        case TODO:
+        case DEADLINE:
+        case EVENT:
+            return addTask(command);
+        case DELETE:
             return handleDelete(commandArgs);
-        case "find":
+        case FIND:
             return handleFind(commandArgs);
-        case "tag":
+        case TAG:
             return handleTag(commandArgs);
-        case "untag":
+        case UNTAG:
             return handleUntag(commandArgs);
+        case TAGS:
+            return handleTags();
+        case DUE:
+            return showDue(command);
+        case AGENDA:
+            return showAgenda(command);
+        case OVERLAPS:
+            return handleOverlaps(commandArgs);
+        case UNDO:
+            return handleUndo();
+        case REDO:
+            return handleRedo();
+        case STATS:
+            return handleStats();
         default:
             throw new UnknownCommandException();
         }
     }
 
     public String getLoadingError() {
-        return isLoaded ? null : "I'm sorry, but I couldn't load your tasks. Starting with an empty list instead.";
+        if (!isLoaded) {
+            return "I'm sorry, but I couldn't load your tasks. Starting with an empty list instead.";
+        }
+        int skippedRecords = storage.getSkippedRecordCount();
+        if (skippedRecords > 0) {
+            return "Part of your task file was damaged, so I skipped " + skippedRecords
+                    + " damaged entries. A copy of the damaged file was kept next to it with a .corrupt suffix.";
+        }
+        return null;
     }
 
     /**
-     * Handles the "list" command.
+     * Sets the number of tasks shown per page by the "list" command.
+     *
+     * @param pageSize The number of tasks per page.
+     */
+    public void setPageSize(int pageSize) {
+        assert pageSize > 0 : "Page size must be positive";
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Handles the "list" command without a page number.
      * 
-     * @return The response to the "list" command, listing all tasks.
+     * @return The response to the "list" command, listing the first page of tasks.
      */
     public String handleList() {
-        return "Here are the tasks in your list:\n" +
-                IntStream.range(0, tasks.size())
-                        .mapToObj(i -> (i + 1) + ". " + tasks.getTask(i))
-                        .collect(Collectors.joining("\n"));
+        try {
+            return handleList("");
+        } catch (InvalidPageNumberException e) {
+            throw new AssertionError("The first page always exists", e);
+        }
+    }
 
+    /**
+     * Handles the "list" command.
+     * Lists all tasks if they fit on one page, otherwise the requested page, which defaults to the first one.
+     *
+     * @param args The 1-based page number, or an empty string for the first page.
+     * @return The response to the "list" command, listing one page of tasks.
+     * @throws InvalidPageNumberException If the page number is invalid.
+     */
+    public String handleList(String args) throws InvalidPageNumberException {
+        int page = parsePageNumber(args);
+        StringBuilder response = new StringBuilder();
+        try {
+            writePage(response, page);
+        } catch (IOException e) {
+            throw new AssertionError("StringBuilder does not throw IOException", e);
+        }
+        return response.toString();
+    }
+
+    /**
+     * Writes one page of the task list to the output, formatting one task at a time.
+     *
+     * @param out The output to write to.
+     * @param page The 1-based page number.
+     * @throws InvalidPageNumberException If the page does not exist.
+     * @throws IOException If the output cannot be written.
+     */
+    public void writePage(Appendable out, int page) throws InvalidPageNumberException, IOException {
+        int pageCount = Math.max(1, (tasks.size() + pageSize - 1) / pageSize);
+        if (page < 1 || page > pageCount) {
+            throw new InvalidPageNumberException();
+        }
+        if (pageCount == 1) {
+            writeList(out);
+            return;
+        }
+        out.append(LIST_HEADER).append(" (page ").append(String.valueOf(page)).append(" of ")
+                .append(String.valueOf(pageCount)).append("):");
+        int end = Math.min(tasks.size(), page * pageSize);
+        for (int i = (page - 1) * pageSize; i < end; i++) {
+            out.append('\n').append(String.valueOf(i + 1)).append(". ").append(tasks.getTask(i).toString());
+        }
+        if (page < pageCount) {
+            out.append("\nType 'list ").append(String.valueOf(page + 1)).append("' to see the next page.");
+        }
+    }
+
+    /**
+     * Writes the whole task list to the output, formatting one task at a time, so that the full listing
+     * is never held in memory.
+     *
+     * @param out The output to write to.
+     * @throws IOException If the output cannot be written.
+     */
+    public void writeList(Appendable out) throws IOException {
+        out.append(LIST_HEADER).append(":\n");
+        int taskNumber = 1;
+        for (Task task : tasks.getTasks()) {
+            if (taskNumber > 1) {
+                out.append('\n');
+            }
+            out.append(String.valueOf(taskNumber++)).append(". ").append(task.toString());
+        }
+    }
+
+    private int parsePageNumber(String args) throws InvalidPageNumberException {
+        if (args.trim().isEmpty()) {
+            return 1;
+        }
+        try {
+            return Integer.parseInt(args.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidPageNumberException();
+        }
     }
 
     /**
      * Handles the "mark" command.
      * 
-     * @param args The task number to mark as done.
+     * @param args The tasks to mark as done, as a task number, a task ID prefixed with '@', a range such as
+     *             "1-500", or a comma-separated list of these.
      * @return The response to the "mark" command, marking the task as done.
      * @throws InvalidTaskNumberException If the task number is invalid.
      */
     public String handleMark(String args) throws InvalidTaskNumberException, IOException {
-        int taskIndex = Integer.parseInt(args) - 1;
-        assert taskIndex >= 0 && taskIndex < tasks.size() : "Invalid task index";
-        validateTaskIndex(taskIndex);
-        tasks.getTask(taskIndex).markAsDone();
-        storage.save(tasks.getTasks());
-        return "Nice! I've marked this task as done:\n" + tasks.getTask(taskIndex);
+        int[] taskIndices = parseTaskIndices(args);
+        UndoHistory.Edit edit = history.captureStates(describe(CommandType.MARK, args), tasks, taskIndices, false);
+        List<Task> markedTasks = tasks.markTasks(taskIndices);
+        history.record(edit);
+        logUpdates(taskIndices, markedTasks);
+        commit();
+        if (markedTasks.size() == 1) {
+            return "Nice! I've marked this task as done:\n" + markedTasks.get(0);
+        }
+        return "Nice! I've marked " + markedTasks.size() + " tasks as done.";
     }
 
     /**
      * Handles the "unmark" command.
      * 
-     * @param args The task number to mark as not done.
+     * @param args The tasks to mark as not done, in the same forms as for the "mark" command.
      * @return The response to the "unmark" command, marking the task as not done.
      * @throws InvalidTaskNumberException If the task number is invalid.
      */
     public String handleUnmark(String args) throws InvalidTaskNumberException, IOException {
-        int taskIndex = Integer.parseInt(args) - 1;
-        assert taskIndex >= 0 && taskIndex < tasks.size() : "Invalid task index";
-        validateTaskIndex(taskIndex);
-        tasks.getTask(taskIndex).markAsNotDone();
-        storage.save(tasks.getTasks());
-        return "OK, I've marked this task as not done yet:\n" + tasks.getTask(taskIndex);
+        int[] taskIndices = parseTaskIndices(args);
+        UndoHistory.Edit edit = history.captureStates(describe(CommandType.UNMARK, args), tasks, taskIndices,
+                false);
+        List<Task> markedTasks = tasks.unmarkTasks(taskIndices);
+        history.record(edit);
+        logUpdates(taskIndices, markedTasks);
+        commit();
+        if (markedTasks.size() == 1) {
+            return "OK, I've marked this task as not done yet:\n" + markedTasks.get(0);
+        }
+        return "OK, I've marked " + markedTasks.size() + " tasks as not done yet.";
     }
 
     /**
@@ -160,11 +385,7 @@ public class AdventureGuideBot {
      */
     public String handleTodo(String args) throws EmptyDescriptionException, IOException {
         assert args != null : "Task description cannot be null";
-        validateDescription(args, "todo");
-        Task task = new ToDo(args);
-        tasks.addTask(task);
-        storage.save(tasks.getTasks());
-        return "Got it. I've added this task:\n" + task + "\nNow you have " + tasks.size() + " tasks in the list.";
+        return addTask(Parser.parseTodo(args));
     }
 
     /**
@@ -177,13 +398,7 @@ public class AdventureGuideBot {
      * @throws IOException If an error occurs during file operations.
      */
     public String handleDeadline(String args) throws EmptyDescriptionException, InvalidDateFormatException, IOException {
-        String[] parts = args.split(" /by ");
-        validateDeadlineOrEvent(parts, "deadline");
-        tasks.addTask(new Deadline(parts[0].trim(), parts[1].trim()));
-        Task task = new Deadline(parts[0].trim(), parts[1].trim());
-        tasks.addTask(task);
-        storage.save(tasks.getTasks());
-        return "Got it. I've added this task:\n" + task + "\nNow you have " + tasks.size() + " tasks in the list.";
+        return addTask(Parser.parseDeadline(args));
     }
 
     /**
@@ -196,40 +411,55 @@ public class AdventureGuideBot {
      * @throws IOException If an error occurs during file operations.
      */
     public String handleEvent(String args) throws EmptyDescriptionException, InvalidDateFormatException, IOException {
-        String[] parts = args.split(" /from | /to ");
-        assert parts.length == 3 : "Invalid event format";
-        validateDeadlineOrEvent(parts, "event");
-        Task task = new Event(parts[0].trim(), parts[1].trim(), parts[2].trim());
+        return addTask(Parser.parseEvent(args));
+    }
+
+    /**
+     * Adds the task of a parsed todo, deadline or event command.
+     */
+    private String addTask(Command command) throws IOException {
+        Task task = command.createTask();
         tasks.addTask(task);
-        storage.save(tasks.getTasks());
-        return "Got it. I've added this task:\n" + task + "\nNow you have " + tasks.size() + " tasks in the list.";
+        history.recordAdded(describe(command.getType(), command.getArgs()), List.of(task));
+        storage.insert(task);
+        commit();
+        return "Got it. I've added this task (" + TASK_ID_PREFIX + task.getId() + "):\n" + task
+                + "\nNow you have " + tasks.size() + " tasks in the list.";
     }
 
     /**
      * Handles the "delete" command.
      * 
-     * @param args The task number to delete.
+     * @param args The tasks to delete, in the same forms as for the "mark" command.
+     *             The journal records the deletions from the highest index down, so that replaying them
+     *             removes the same tasks.
      * @return The response to the "delete" command, deleting the task.
      * @throws InvalidTaskNumberException If the task number is invalid.
      * @throws IOException If an error occurs during file operations.
      */
     public String handleDelete(String args) throws InvalidTaskNumberException, IOException {
-        int taskIndex = Integer.parseInt(args) - 1;
-        assert taskIndex >= 0 && taskIndex < tasks.size() : "Invalid task index";
-        validateTaskIndex(taskIndex);
-        Task removedTask = tasks.removeTask(taskIndex);
-        storage.save(tasks.getTasks());
-        return "Noted. I've removed this task:\n" + removedTask + "\nNow you have " + tasks.size() + " tasks in the list.";
+        int[] taskIndices = parseTaskIndices(args);
+        List<Task> removedTasks = tasks.removeTasks(taskIndices);
+        history.recordRemoved(describe(CommandType.DELETE, args), removedTasks);
+        for (int i = taskIndices.length - 1; i >= 0; i--) {
+            storage.delete(taskIndices[i], removedTasks.get(i));
+        }
+        commit();
+        String removed = removedTasks.size() == 1
+                ? "Noted. I've removed this task:\n" + removedTasks.get(0)
+                : "Noted. I've removed " + removedTasks.size() + " tasks.";
+        return removed + "\nNow you have " + tasks.size() + " tasks in the list.";
     }
 
     /**
      * Handles the "find" command.
+     * A keyword starting with '#' finds the tasks with that tag.
      * 
      * @param args The keyword to search for.
      * @return The response to the "find" command, listing the matching tasks.
      */
     public String handleFind(String args) {
-        List<Task> matchingTasks = tasks.findTasks(args);
+        List<Task> matchingTasks = args.startsWith("#") ? tasks.findTasksByTag(args.substring(1)) : tasks.findTasks(args);
         StringBuilder response = new StringBuilder("Here are the matching tasks in your list:\n");
         for (int i = 0; i < matchingTasks.size(); i++) {
             response.append((i + 1)).append(". ").append(matchingTasks.get(i)).append("\n");
@@ -240,7 +470,7 @@ public class AdventureGuideBot {
     /**
      * Handles the "tag" command.
      * 
-     * @param args The task number and tag to add.
+     * @param args The tasks, in the same forms as for the "mark" command, and the tag to add.
      * @return The response to the "tag" command, adding the tag to the task if tag is not already present, else updating the tag.
      * @throws InvalidTaskNumberException If the task number is invalid.
      * @throws EmptyDescriptionException If the tag is empty.
@@ -249,69 +479,247 @@ public class AdventureGuideBot {
     public String handleTag(String args) throws InvalidTaskNumberException, EmptyDescriptionException, IOException {
         String[] parts = args.split(" ");
         validateNonEmptyTag(parts);
-        validateTextInt(parts[0]);
-        int taskIndex = Integer.parseInt(parts[0]) - 1;
-        validateTaskIndex(taskIndex);
+        int[] taskIndices = parseTaskIndices(parts[0]);
+        String newTag = parts[1];
+        UndoHistory.Edit edit = history.captureStates(describe(CommandType.TAG, args), tasks, taskIndices, true);
+        if (taskIndices.length > 1) {
+            List<Task> taggedTasks = tasks.tagTasks(taskIndices, newTag);
+            history.record(edit);
+            logUpdates(taskIndices, taggedTasks);
+            commit();
+            return "A tag #" + newTag + " has been added to " + taskIndices.length + " tasks.";
+        }
+        int taskIndex = taskIndices[0];
         boolean hasTag = tasks.getTask(taskIndex).hasTag();
         String oldTag = hasTag ? tasks.getTask(taskIndex).getTag() : "no tag";
-        String newTag = parts[1];
-        tasks.getTask(taskIndex).setTag(newTag);
-        storage.save(tasks.getTasks());
+        tasks.tagTask(taskIndex, newTag);
+        history.record(edit);
+        storage.update(taskIndex, tasks.getTask(taskIndex));
+        commit();
         return hasTag ? "The tag #" + oldTag + " has been updated to #" + newTag : "A tag #" + newTag + " has been added to the task.";
     }
 
     /**
      * Handles the "untag" command.
      * 
-     * @param args The task number to remove the tag from.
+     * @param args The tasks to remove the tag from, in the same forms as for the "mark" command.
      * @return The response to the "untag" command, removing the tag from the task.
      * @throws InvalidTaskNumberException If the task number is invalid.
      * @throws IOException If an error occurs during file operations.
      */
     public String handleUntag(String args) throws EmptyIndexException, InvalidTaskNumberException, IOException {
         validateNonEmptyUntag(args);
-        validateTextInt(args);
-        int taskIndex = Integer.parseInt(args) - 1;
-        assert taskIndex >= 0 && taskIndex < tasks.size() : "Invalid task index";
-        validateTaskIndex(taskIndex);
+        int[] taskIndices = parseTaskIndices(args);
+        UndoHistory.Edit edit = history.captureStates(describe(CommandType.UNTAG, args), tasks, taskIndices, true);
+        if (taskIndices.length > 1) {
+            return untagTasks(taskIndices, edit);
+        }
+        int taskIndex = taskIndices[0];
         boolean hasTag = tasks.getTask(taskIndex).hasTag();
         if (!hasTag) {
             return "This task does not have a tag.";
         } else {
             String oldTag = tasks.getTask(taskIndex).getTag();
-            tasks.getTask(taskIndex).setTag(null);
-            storage.save(tasks.getTasks());
+            tasks.untagTask(taskIndex);
+            history.record(edit);
+            storage.update(taskIndex, tasks.getTask(taskIndex));
+            commit();
             return "The tag #" + oldTag + " has been removed from the task.";
         }
     }
 
-    private void validateTaskIndex(int taskIndex) throws InvalidTaskNumberException {
-        if (taskIndex < 0 || taskIndex >= tasks.size()) {
-            throw new InvalidTaskNumberException();
+    private String untagTasks(int[] taskIndices, UndoHistory.Edit edit) throws IOException {
+        int taggedCount = 0;
+        for (int taskIndex : taskIndices) {
+            taggedCount += tasks.getTask(taskIndex).hasTag() ? 1 : 0;
+        }
+        if (taggedCount == 0) {
+            return "These tasks do not have tags.";
         }
+        List<Task> untaggedTasks = tasks.untagTasks(taskIndices);
+        history.record(edit);
+        logUpdates(taskIndices, untaggedTasks);
+        commit();
+        return "The tags have been removed from " + taggedCount + " tasks.";
+    }
+
+    /**
+     * Handles the "undo" command.
+     * Every command that changes the list can be undone, up to a bounded number of task changes.
+     *
+     * @return The response to the "undo" command, naming the command whose change was undone.
+     * @throws NothingToUndoException If there is no change to undo.
+     * @throws IOException If an error occurs during file operations.
+     */
+    public String handleUndo() throws NothingToUndoException, IOException {
+        String command = history.undo(tasks, storage);
+        commit();
+        return "OK, I've undone \"" + command + "\".\nNow you have " + tasks.size() + " tasks in the list.";
     }
 
-    private void validateDescription(String description, String taskType) throws EmptyDescriptionException {
-        if (description.isEmpty()) {
-            throw new EmptyDescriptionException(taskType);
+    /**
+     * Handles the "redo" command.
+     *
+     * @return The response to the "redo" command, naming the command whose change was redone.
+     * @throws NothingToUndoException If there is no undone change to redo.
+     * @throws IOException If an error occurs during file operations.
+     */
+    public String handleRedo() throws NothingToUndoException, IOException {
+        String command = history.redo(tasks, storage);
+        commit();
+        return "OK, I've redone \"" + command + "\".\nNow you have " + tasks.size() + " tasks in the list.";
+    }
+
+    private static String describe(CommandType type, String args) {
+        return (type.getWord() + " " + args).trim();
+    }
+
+    private void logUpdates(int[] taskIndices, List<Task> updatedTasks) throws IOException {
+        for (int i = 0; i < taskIndices.length; i++) {
+            storage.update(taskIndices[i], updatedTasks.get(i));
         }
     }
 
-    private void validateDeadlineOrEvent(String[] parts, String taskType) throws EmptyDescriptionException, InvalidDateFormatException {
-        if (taskType.equals("deadline") && (parts.length < 2 || parts[0].trim().isEmpty() || parts[1].trim().isEmpty())) {
-            throw new EmptyDescriptionException(taskType);
-        } else if (taskType.equals("event") && (parts.length < 3 || parts[0].trim().isEmpty() || parts[1].trim().isEmpty() || parts[2].trim().isEmpty())) {
-            throw new EmptyDescriptionException(taskType);
+    /**
+     * Handles the "tags" command.
+     *
+     * @return The response to the "tags" command, listing every tag with its number of tasks.
+     */
+    public String handleTags() {
+        SortedMap<String, Integer> tagCounts = tasks.getTagCounts();
+        if (tagCounts.isEmpty()) {
+            return "There are no tags in your list.";
         }
-        try {
-            if (taskType.equals("deadline")) {
-                LocalDateTime.parse(parts[1].trim(), DeadlineInputFormatter);
-            } else {
-                LocalDateTime.parse(parts[1].trim(), EventInputFormatter);
-                LocalDateTime.parse(parts[2].trim(), EventInputFormatter);
-            }
-        } catch (DateTimeParseException e) {
-            throw new InvalidDateFormatException();
+        StringBuilder response = new StringBuilder("Here are the tags in your list:");
+        for (Map.Entry<String, Integer> entry : tagCounts.entrySet()) {
+            response.append("\n#").append(entry.getKey()).append(" (").append(entry.getValue()).append(")");
+        }
+        return response.toString();
+    }
+
+    /**
+     * Handles the "due" command.
+     *
+     * @param args The day, in the form "d/M/yyyy".
+     * @return The response to the "due" command, listing the deadlines due on the day.
+     * @throws MissingDateException If the day is missing.
+     * @throws InvalidDateFormatException If the day is invalid.
+     */
+    public String handleDue(String args) throws MissingDateException, InvalidDateFormatException {
+        return showDue(Parser.parseDue(args));
+    }
+
+    private String showDue(Command command) {
+        List<Task> deadlines = tasks.findDeadlines(command.getStart(), command.getEnd());
+        String day = command.getStart().format(DAY_FORMATTER);
+        if (deadlines.isEmpty()) {
+            return "Nothing is due on " + day + ".";
+        }
+        return formatTasks("Here are the deadlines due on " + day + ":", deadlines);
+    }
+
+    /**
+     * Handles the "agenda" command.
+     *
+     * @param args The start and end of the agenda, in the form "d/M/yyyy [HHmm] /to d/M/yyyy [HHmm]".
+     * @return The response to the "agenda" command, listing the deadlines due and events taking place between
+     *         the start and end.
+     * @throws MissingDateException If the start or end is missing.
+     * @throws InvalidDateFormatException If the start or end is invalid.
+     * @throws InvalidDateRangeException If the start is after the end.
+     */
+    public String handleAgenda(String args)
+            throws MissingDateException, InvalidDateFormatException, InvalidDateRangeException {
+        return showAgenda(Parser.parseAgenda(args));
+    }
+
+    private String showAgenda(Command command) {
+        List<Task> agenda = tasks.getAgenda(command.getStart(), command.getEnd());
+        String window = "from " + command.getStart().format(TIME_FORMATTER) + " to "
+                + command.getEnd().format(TIME_FORMATTER);
+        if (agenda.isEmpty()) {
+            return "Your agenda is clear " + window + ".";
+        }
+        return formatTasks("Here is your agenda " + window + ":", agenda);
+    }
+
+    /**
+     * Handles the "overlaps" command.
+     *
+     * @param args The deadline or event, as a task number or a task ID prefixed with '@'.
+     * @return The response to the "overlaps" command, listing the other events taking place at the same time.
+     * @throws InvalidTaskNumberException If the task number is invalid.
+     * @throws UndatedTaskException If the task is a todo.
+     */
+    public String handleOverlaps(String args) throws InvalidTaskNumberException, UndatedTaskException {
+        Task task = tasks.getTask(parseTaskIndex(args));
+        List<Task> events;
+        if (task instanceof Event) {
+            events = tasks.findEvents(((Event) task).getFromDateTime(), ((Event) task).getToDateTime());
+        } else if (task instanceof Deadline) {
+            LocalDateTime by = ((Deadline) task).getByDateTime();
+            events = tasks.findEvents(by, by);
+        } else {
+            throw new UndatedTaskException();
+        }
+        events.remove(task);
+        if (events.isEmpty()) {
+            return "No other events overlap with this task.";
+        }
+        return formatTasks("Here are the events that overlap with this task:", events);
+    }
+
+    private static String formatTasks(String header, List<Task> tasks) {
+        StringBuilder response = new StringBuilder(header);
+        for (int i = 0; i < tasks.size(); i++) {
+            response.append('\n').append(i + 1).append(". ").append(tasks.get(i));
+        }
+        return response.toString();
+    }
+
+    /**
+     * Handles the "stats" command.
+     *
+     * @return The latencies of the commands run so far, or a note that metrics are disabled.
+     */
+    public String handleStats() {
+        if (!Metrics.IS_ENABLED) {
+            return "Metrics are disabled. Start the Adventure Guide without -D" + Metrics.ENABLED_PROPERTY
+                    + "=false to collect them.";
+        }
+        return Metrics.getReport();
+    }
+
+    /**
+     * Commits the changes recorded in the repository, timing the write as part of the current command.
+     */
+    private void commit() throws IOException {
+        long start = Metrics.IS_ENABLED ? System.nanoTime() : 0;
+        storage.commit(tasks.getTasks());
+        if (Metrics.IS_ENABLED) {
+            recordPersist(start);
+        }
+    }
+
+    /**
+     * Writes all pending changes, timing the write as part of the current command.
+     */
+    private void flush() throws IOException {
+        long start = Metrics.IS_ENABLED ? System.nanoTime() : 0;
+        storage.flush();
+        if (Metrics.IS_ENABLED) {
+            recordPersist(start);
+        }
+    }
+
+    private void recordPersist(long start) {
+        persistNanos += System.nanoTime() - start;
+        hasPersisted = true;
+    }
+
+    private void validateTaskIndex(int taskIndex) throws InvalidTaskNumberException {
+        if (taskIndex < 0 || taskIndex >= tasks.size()) {
+            throw new InvalidTaskNumberException();
         }
     }
 
@@ -321,12 +729,45 @@ public class AdventureGuideBot {
         }
     }
 
-    private void validateTextInt(String text) throws InvalidTaskNumberException {
+    /**
+     * Parses a 1-based task number, or a stable task ID prefixed with '@', into the index of the task.
+     */
+    private int parseTaskIndex(String text) throws InvalidTaskNumberException {
+        String trimmed = text.trim();
+        int taskIndex;
         try {
-            Integer.parseInt(text);
+            if (trimmed.startsWith(TASK_ID_PREFIX)) {
+                taskIndex = tasks.indexOfId(Long.parseLong(trimmed.substring(TASK_ID_PREFIX.length())));
+            } else {
+                taskIndex = Integer.parseInt(trimmed) - 1;
+            }
         } catch (NumberFormatException e) {
             throw new InvalidTaskNumberException();
         }
+        validateTaskIndex(taskIndex);
+        return taskIndex;
+    }
+
+    /**
+     * Parses a comma-separated list of task numbers, task IDs prefixed with '@' and ranges of task numbers such
+     * as "3-7" into the distinct indices of the tasks, in increasing order.
+     */
+    private int[] parseTaskIndices(String text) throws InvalidTaskNumberException {
+        BitSet selected = new BitSet();
+        for (String item : text.split(SELECTION_SEPARATOR)) {
+            int rangeSeparator = item.indexOf(RANGE_SEPARATOR);
+            if (rangeSeparator <= 0 || item.trim().startsWith(TASK_ID_PREFIX)) {
+                selected.set(parseTaskIndex(item));
+                continue;
+            }
+            int first = parseTaskIndex(item.substring(0, rangeSeparator));
+            int last = parseTaskIndex(item.substring(rangeSeparator + RANGE_SEPARATOR.length()));
+            if (first > last) {
+                throw new InvalidTaskNumberException();
+            }
+            selected.set(first, last + 1);
+        }
+        return selected.stream().toArray();
     }
 
     private void validateNonEmptyUntag(String arg) throws EmptyIndexException {
@@ -0,0 +1,28 @@
+package duke.ui;
+
+/**
+ * A single message in the chat history, sent either by the user or by the bot.
+ */
+public class ChatMessage {
+    private final String text;
+    private final boolean isFromUser;
+
+    /**
+     * Constructs a chat message.
+     *
+     * @param text The text of the message.
+     * @param isFromUser Whether the message was sent by the user rather than the bot.
+     */
+    public ChatMessage(String text, boolean isFromUser) {
+        this.text = text;
+        this.isFromUser = isFromUser;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public boolean isFromUser() {
+        return isFromUser;
+    }
+}
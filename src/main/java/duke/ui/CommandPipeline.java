@@ -0,0 +1,89 @@
+package duke.ui;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs commands of an AdventureGuideBot in the background, so that slow commands do not block the UI thread.
+ * <p>
+ * Commands run one at a time on a single worker thread, in the order they were submitted, and the bot is only
+ * ever used from that thread. Each response is handed to its callback through the result executor, which for
+ * the GUI is {@code Platform::runLater}.
+ */
+public class CommandPipeline implements AutoCloseable {
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+    private final AdventureGuideBot bot;
+    private final ExecutorService worker;
+    private final Executor resultExecutor;
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    /**
+     * Constructs a pipeline that runs commands on a daemon platform thread.
+     *
+     * @param bot The bot to run commands on.
+     * @param resultExecutor The executor that delivers responses, such as {@code Platform::runLater}.
+     */
+    public CommandPipeline(AdventureGuideBot bot, Executor resultExecutor) {
+        this(bot, resultExecutor, runnable -> {
+            Thread thread = new Thread(runnable, "command-pipeline");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Constructs a pipeline that runs commands on a thread created by the specified factory.
+     * On Java 21 and later, {@code Thread.ofVirtual().factory()} runs the commands on a virtual thread.
+     *
+     * @param bot The bot to run commands on.
+     * @param resultExecutor The executor that delivers responses, such as {@code Platform::runLater}.
+     * @param threadFactory The factory that creates the worker thread.
+     */
+    public CommandPipeline(AdventureGuideBot bot, Executor resultExecutor, ThreadFactory threadFactory) {
+        this.bot = bot;
+        this.resultExecutor = resultExecutor;
+        this.worker = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    /**
+     * Queues the user input to be run after all previously submitted commands.
+     *
+     * @param input The user input.
+     * @param onResponse The callback that receives the response, run on the result executor.
+     */
+    public void submit(String input, Consumer<String> onResponse) {
+        pendingCount.incrementAndGet();
+        worker.execute(() -> {
+            String response = bot.getResponse(input);
+            resultExecutor.execute(() -> {
+                pendingCount.decrementAndGet();
+                onResponse.accept(response);
+            });
+        });
+    }
+
+    /**
+     * Returns the number of submitted commands whose responses have not been delivered yet.
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Runs all submitted commands and stops the worker thread.
+     * Responses of the remaining commands are still handed to the result executor.
+     *
+     * @throws InterruptedException If interrupted while waiting for the commands to finish.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        worker.shutdown();
+        worker.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,50 @@
+package duke.ui;
+
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.image.Image;
+
+/**
+ * A list cell that shows a chat message in a DialogBox.
+ * The ListView only creates enough cells to fill the visible area and reuses them while scrolling,
+ * so each cell keeps a single DialogBox and updates it for whichever message it currently shows.
+ */
+public class DialogBoxCell extends ListCell<ChatMessage> {
+    private static final double SCROLL_BAR_ALLOWANCE = 20.0;
+
+    private final DialogBox dialogBox = new DialogBox();
+    private final Image userImage;
+    private final Image botImage;
+
+    /**
+     * Constructs a cell for the specified list.
+     *
+     * @param listView The list the cell belongs to, whose width the dialog box follows.
+     * @param userImage The picture shown next to user messages.
+     * @param botImage The picture shown next to bot messages.
+     */
+    public DialogBoxCell(ListView<ChatMessage> listView, Image userImage, Image botImage) {
+        this.userImage = userImage;
+        this.botImage = botImage;
+        setStyle("-fx-background-color: transparent; -fx-padding: 0;");
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        setPrefWidth(0);
+        dialogBox.prefWidthProperty().bind(listView.widthProperty().subtract(SCROLL_BAR_ALLOWANCE));
+    }
+
+    @Override
+    protected void updateItem(ChatMessage message, boolean isEmpty) {
+        super.updateItem(message, isEmpty);
+        if (isEmpty || message == null) {
+            setGraphic(null);
+            return;
+        }
+        if (message.isFromUser()) {
+            dialogBox.showMessage(message.getText(), userImage, false);
+        } else {
+            dialogBox.showMessage(message.getText(), botImage, true);
+        }
+        setGraphic(dialogBox);
+    }
+}
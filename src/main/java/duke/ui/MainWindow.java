@@ -1,82 +1,125 @@
 package duke.ui;
 
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 import javafx.animation.PauseTransition;
 
 /**
  * Controller for the main GUI.
+ * <p>
+ * The chat history is shown in a ListView, which only creates dialog boxes for the messages on screen and reuses
+ * them while scrolling. Only the most recent messages are kept, so long sessions use constant memory.
+ * Commands run in the background through a {@link CommandPipeline}, and a placeholder message is shown
+ * until each response arrives. Reminders of upcoming deadlines and events are added to the history as they fire.
  */
 public class MainWindow extends AnchorPane {
+    private static final int MAX_MESSAGES = 1000;
+    private static final String PENDING_TEXT = "...";
+
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<ChatMessage> dialogList;
     @FXML
     private TextField userInput;
     @FXML
     private Button sendButton;
 
     private AdventureGuideBot bot;
+    private CommandPipeline pipeline;
+
+    private final ObservableList<ChatMessage> messages = FXCollections.observableArrayList();
 
     private Image userImage = new Image(this.getClass().getResourceAsStream("/images/User.jpg"));
     private Image dukeImage = new Image(this.getClass().getResourceAsStream("/images/AdventureGuide.jpg"));
 
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        dialogList.setItems(messages);
+        dialogList.setCellFactory(list -> new DialogBoxCell(list, userImage, dukeImage));
+        dialogList.setStyle("-fx-background-color: transparent; -fx-background-insets: 0;");
     }
 
     /** Injects the AdventureGuideBot instance */
     public void setAdventureGuideBot(AdventureGuideBot bot) {
         this.bot = bot;
+        this.pipeline = new CommandPipeline(bot, Platform::runLater);
         showWelcomeMessage();
         handleLoadingError();
+        bot.startReminders(reminder -> Platform.runLater(() -> addMessages(new ChatMessage(reminder, false))));
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing Duke's reply and then appends them to
-     * the dialog container. Clears the user input after processing.
+     * Adds the user input and a placeholder for the reply to the chat history, and submits the input to the
+     * command pipeline. The placeholder is replaced by Duke's reply once it arrives. Clears the user input.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
-        String response = bot.getResponse(input);
-        addDialogBoxes(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getDukeDialog(response, dukeImage)
-        );
+        ChatMessage placeholder = new ChatMessage(PENDING_TEXT, false);
+        addMessages(new ChatMessage(input, true), placeholder);
         userInput.clear();
 
-        if (input.equals("bye")) {
-            handleBye();
+        pipeline.submit(input, response -> {
+            showResponse(placeholder, response);
+            if (input.equals("bye")) {
+                handleBye();
+            }
+        });
+    }
+
+    /**
+     * Stops the command pipeline after the submitted commands have run.
+     *
+     * @throws InterruptedException If interrupted while waiting for the commands to finish.
+     */
+    public void shutdown() throws InterruptedException {
+        if (pipeline != null) {
+            pipeline.close();
         }
     }
 
     /**
-     * Adds multiple dialog boxes to the dialog container.
+     * Replaces the placeholder with the response. The placeholder is searched for from the newest message,
+     * where it almost always is, and the response is dropped if the placeholder has left the history.
+     */
+    private void showResponse(ChatMessage placeholder, String response) {
+        int index = messages.lastIndexOf(placeholder);
+        if (index >= 0) {
+            messages.set(index, new ChatMessage(response, false));
+        }
+    }
+
+    /**
+     * Adds messages to the end of the chat history, dropping the oldest messages once the history is full,
+     * and scrolls to the newest message.
      *
-     * @param dialogBoxes The dialog boxes to add.
+     * @param newMessages The messages to add.
      */
-    private void addDialogBoxes(DialogBox... dialogBoxes) {
-        dialogContainer.getChildren().addAll(dialogBoxes);
+    private void addMessages(ChatMessage... newMessages) {
+        messages.addAll(newMessages);
+        int excess = messages.size() - MAX_MESSAGES;
+        if (excess > 0) {
+            messages.remove(0, excess);
+        }
+        dialogList.scrollTo(messages.size() - 1);
     }
 
     private void showWelcomeMessage() {
-        dialogContainer.getChildren().add(DialogBox.getDukeDialog(bot.getUi().showWelcome(), dukeImage));
+        addMessages(new ChatMessage(bot.getUi().showWelcome(), false));
     }
 
     private void handleBye() {
         PauseTransition delay = new PauseTransition(Duration.seconds(2));
         delay.setOnFinished(event -> {
-            Stage stage = (Stage) dialogContainer.getScene().getWindow();
+            Stage stage = (Stage) dialogList.getScene().getWindow();
             stage.close();
         });
         delay.play();
@@ -84,11 +127,7 @@ public class MainWindow extends AnchorPane {
 
     private void handleLoadingError() {
         if (bot.getLoadingError() != null) {
-            dialogContainer.getChildren().add(DialogBox.getDukeDialog(bot.getLoadingError(), dukeImage));
+            addMessages(new ChatMessage(bot.getLoadingError(), false));
         }
     }
-
-    public VBox getDialogContainer() {
-        return dialogContainer;
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,263 @@
+package duke.ui;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.List;
+
+import duke.components.Task;
+import duke.components.TaskList;
+import duke.data.TaskRepository;
+import duke.exceptions.NothingToUndoException;
+
+/**
+ * The changes made to a task list that can be undone and redone.
+ * <p>
+ * Each change is kept as a compact edit that can be applied in either direction, rather than as a copy of the
+ * list. Adding and removing tasks keeps references to the tasks, which are restored with their IDs and at their
+ * positions. Marking and tagging tasks keeps their IDs and their states before the change, which each undo and
+ * redo swaps with their current states. Undoing or redoing a change records the same kind of journal records as
+ * the change itself, so it costs O(1) I/O per task.
+ * <p>
+ * The history is bounded by the number of tasks its edits refer to. Once the capacity is exceeded, the oldest
+ * changes can no longer be undone. Making a new change discards the changes that could be redone.
+ */
+final class UndoHistory {
+    /** The number of task changes kept for undoing, unless specified otherwise. */
+    static final int DEFAULT_CAPACITY = 100_000;
+
+    private final int capacity;
+    private final Deque<Edit> undoEdits = new ArrayDeque<>();
+    private final Deque<Edit> redoEdits = new ArrayDeque<>();
+    private long taskCount;
+
+    /**
+     * Constructs an empty history.
+     *
+     * @param capacity The maximum number of task changes kept across all changes that can be undone or redone.
+     */
+    UndoHistory(int capacity) {
+        assert capacity > 0 : "Capacity must be positive";
+        this.capacity = capacity;
+    }
+
+    /**
+     * Records that tasks have been added to the list.
+     *
+     * @param command The command that added the tasks.
+     * @param addedTasks The added tasks, in list order.
+     */
+    void recordAdded(String command, List<Task> addedTasks) {
+        record(new Presence(command, addedTasks, true));
+    }
+
+    /**
+     * Records that tasks have been removed from the list.
+     *
+     * @param command The command that removed the tasks.
+     * @param removedTasks The removed tasks, in list order.
+     */
+    void recordRemoved(String command, List<Task> removedTasks) {
+        record(new Presence(command, removedTasks, false));
+    }
+
+    /**
+     * Captures whether the tasks at the specified indices are done, and optionally their tags, before they are
+     * changed. The returned edit is recorded with {@link #record} once the change has been made.
+     *
+     * @param command The command that changes the tasks.
+     * @param tasks The task list.
+     * @param indices The indices of the tasks that are about to change.
+     * @param includesTags Whether the change affects tags.
+     * @return The edit that undoes the change.
+     */
+    Edit captureStates(String command, TaskList tasks, int[] indices, boolean includesTags) {
+        long[] ids = new long[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            ids[i] = tasks.getTask(indices[i]).getId();
+        }
+        StateChange edit = new StateChange(command, ids, includesTags);
+        edit.capture(tasks, indices);
+        return edit;
+    }
+
+    /**
+     * Records a change that has been made, discarding the changes that could be redone.
+     *
+     * @param edit The edit that undoes the change.
+     */
+    void record(Edit edit) {
+        for (Edit discarded : redoEdits) {
+            taskCount -= discarded.getTaskCount();
+        }
+        redoEdits.clear();
+        undoEdits.push(edit);
+        taskCount += edit.getTaskCount();
+        while (taskCount > capacity && !undoEdits.isEmpty()) {
+            taskCount -= undoEdits.removeLast().getTaskCount();
+        }
+    }
+
+    /**
+     * Undoes the latest change that has not been undone, recording the reverting changes in the repository.
+     *
+     * @param tasks The task list.
+     * @param storage The repository to record the changes in. The changes are not committed.
+     * @return The command whose change was undone.
+     * @throws NothingToUndoException If there is no change to undo.
+     * @throws IOException If the changes cannot be recorded.
+     */
+    String undo(TaskList tasks, TaskRepository storage) throws NothingToUndoException, IOException {
+        return move(undoEdits, redoEdits, "undo", tasks, storage);
+    }
+
+    /**
+     * Redoes the latest undone change, recording the changes in the repository.
+     *
+     * @param tasks The task list.
+     * @param storage The repository to record the changes in. The changes are not committed.
+     * @return The command whose change was redone.
+     * @throws NothingToUndoException If there is no undone change to redo.
+     * @throws IOException If the changes cannot be recorded.
+     */
+    String redo(TaskList tasks, TaskRepository storage) throws NothingToUndoException, IOException {
+        return move(redoEdits, undoEdits, "redo", tasks, storage);
+    }
+
+    private static String move(Deque<Edit> from, Deque<Edit> to, String action, TaskList tasks,
+            TaskRepository storage) throws NothingToUndoException, IOException {
+        Edit edit = from.poll();
+        if (edit == null) {
+            throw new NothingToUndoException(action);
+        }
+        edit.apply(tasks, storage);
+        to.push(edit);
+        return edit.command;
+    }
+
+    /**
+     * Returns the number of changes that can be undone.
+     */
+    int getUndoCount() {
+        return undoEdits.size();
+    }
+
+    /**
+     * Returns the number of changes that can be redone.
+     */
+    int getRedoCount() {
+        return redoEdits.size();
+    }
+
+    /**
+     * A change that can be applied in either direction. Applying it undoes the change, and applying it again
+     * redoes it.
+     */
+    abstract static class Edit {
+        private final String command;
+
+        private Edit(String command) {
+            this.command = command;
+        }
+
+        abstract int getTaskCount();
+
+        abstract void apply(TaskList tasks, TaskRepository storage) throws IOException;
+    }
+
+    /**
+     * Adding or removing tasks, which is reverted by removing or restoring the same tasks.
+     */
+    private static final class Presence extends Edit {
+        private final List<Task> tasks;
+        private boolean isInList;
+
+        private Presence(String command, List<Task> tasks, boolean isInList) {
+            super(command);
+            this.tasks = tasks;
+            this.isInList = isInList;
+        }
+
+        @Override
+        int getTaskCount() {
+            return tasks.size();
+        }
+
+        /**
+         * Removes the tasks if they are in the list, recording the deletions from the highest index down, and
+         * restores them otherwise, recording the insertions from the lowest index up, so that replaying the
+         * records makes the same change.
+         */
+        @Override
+        void apply(TaskList taskList, TaskRepository storage) throws IOException {
+            if (isInList) {
+                int[] indices = indicesOf(taskList, tasks);
+                taskList.removeTasks(indices);
+                for (int i = indices.length - 1; i >= 0; i--) {
+                    storage.delete(indices[i], tasks.get(i));
+                }
+            } else {
+                int[] indices = taskList.restoreTasks(tasks);
+                for (int i = 0; i < indices.length; i++) {
+                    storage.insert(indices[i], tasks.get(i));
+                }
+            }
+            isInList = !isInList;
+        }
+    }
+
+    /**
+     * Marking, unmarking, tagging or untagging tasks, which is reverted by swapping the states of the tasks with
+     * the states they had before.
+     */
+    private static final class StateChange extends Edit {
+        private final long[] ids;
+        private final BitSet doneTasks = new BitSet();
+        private final String[] tags;
+
+        private StateChange(String command, long[] ids, boolean includesTags) {
+            super(command);
+            this.ids = ids;
+            this.tags = includesTags ? new String[ids.length] : null;
+        }
+
+        @Override
+        int getTaskCount() {
+            return ids.length;
+        }
+
+        private void capture(TaskList taskList, int[] indices) {
+            for (int i = 0; i < indices.length; i++) {
+                Task task = taskList.getTask(indices[i]);
+                doneTasks.set(i, task.isDone());
+                if (tags != null) {
+                    tags[i] = task.getTag();
+                }
+            }
+        }
+
+        @Override
+        void apply(TaskList taskList, TaskRepository storage) throws IOException {
+            int[] indices = new int[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                indices[i] = taskList.indexOfId(ids[i]);
+            }
+            BitSet restoredDoneTasks = (BitSet) doneTasks.clone();
+            String[] restoredTags = tags == null ? null : tags.clone();
+            capture(taskList, indices);
+            List<Task> updatedTasks = taskList.setStates(indices, restoredDoneTasks, restoredTags);
+            for (int i = 0; i < indices.length; i++) {
+                storage.update(indices[i], updatedTasks.get(i));
+            }
+        }
+    }
+
+    private static int[] indicesOf(TaskList taskList, List<Task> tasks) {
+        int[] indices = new int[tasks.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = taskList.indexOfId(tasks.get(i).getId());
+        }
+        return indices;
+    }
+}
@@ -0,0 +1,61 @@
+package duke;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import duke.data.Storage;
+import duke.ui.AdventureGuideBot;
+
+/**
+ * Tests the HeadlessAdventureGuide class.
+ */
+public class HeadlessAdventureGuideTest {
+    private static final String FILE_PATH = "./data/test_headless_tasks.txt";
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        Files.deleteIfExists(Paths.get(FILE_PATH));
+        Files.deleteIfExists(Paths.get(FILE_PATH + ".journal"));
+    }
+
+    @Test
+    public void run_commandsUntilBye_responsesPrintedAndTasksSavedOnce() throws Exception {
+        Storage storage = new Storage(FILE_PATH);
+        storage.setCommitInterval(0);
+        AdventureGuideBot bot = new AdventureGuideBot(storage);
+        StringWriter output = new StringWriter();
+        BufferedReader in = new BufferedReader(new StringReader("todo read book\n\ntodo return book\nbye\ntodo later\n"));
+
+        int commandCount = HeadlessAdventureGuide.run(in, new PrintWriter(output), bot, false);
+        bot.shutdown();
+
+        assertEquals(3, commandCount);
+        String[] responses = output.toString().split("\\R");
+        assertEquals("Got it. I've added this task (@1):", responses[0]);
+        assertTrue(output.toString().contains("Now you have 2 tasks in the list."));
+        assertTrue(responses[responses.length - 1].startsWith("Farewell, adventurer!"));
+        assertEquals(2, new Storage(FILE_PATH).load().size());
+    }
+
+    @Test
+    public void run_quiet_onlyByePrinted() throws Exception {
+        AdventureGuideBot bot = new AdventureGuideBot(new Storage(FILE_PATH));
+        StringWriter output = new StringWriter();
+        BufferedReader in = new BufferedReader(new StringReader("todo read book\nbye\n"));
+
+        HeadlessAdventureGuide.run(in, new PrintWriter(output), bot, true);
+        bot.shutdown();
+
+        assertTrue(output.toString().startsWith("Farewell, adventurer!"));
+    }
+}
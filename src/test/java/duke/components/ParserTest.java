@@ -0,0 +1,106 @@
+package duke.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import duke.exceptions.AdventureGuideException;
+import duke.exceptions.EmptyDescriptionException;
+import duke.exceptions.InvalidDateFormatException;
+import duke.exceptions.InvalidDateRangeException;
+import duke.exceptions.MissingDateException;
+import duke.exceptions.UnknownCommandException;
+
+/**
+ * Tests the Parser class.
+ */
+public class ParserTest {
+    @Test
+    public void parse_commandWithArguments_typeAndArgumentsSplit() throws AdventureGuideException {
+        Command command = Parser.parse("mark 1,3-5");
+        assertEquals(CommandType.MARK, command.getType());
+        assertEquals("1,3-5", command.getArgs());
+
+        Command bye = Parser.parse("bye");
+        assertEquals(CommandType.BYE, bye.getType());
+        assertEquals("", bye.getArgs());
+    }
+
+    @Test
+    public void parse_unknownOrPrefixedWord_exceptionThrown() {
+        for (String input : new String[] { "", "blah", "lists", "lis", " list", "tagss 1", "Ünknown" }) {
+            assertThrows(UnknownCommandException.class, () -> Parser.parse(input));
+        }
+    }
+
+    @Test
+    public void parse_deadline_fieldsParsed() throws AdventureGuideException {
+        Command command = Parser.parse("deadline return book /by 2/12/2019 1800");
+        assertEquals(CommandType.DEADLINE, command.getType());
+        assertEquals("return book", command.getDescription());
+        assertEquals(LocalDateTime.of(2019, 12, 2, 18, 0), command.getStart());
+        assertNull(command.getEnd());
+        assertEquals("[D][ ] return book (by: Dec 2 2019 18:00)", command.createTask().toString());
+    }
+
+    @Test
+    public void parse_event_fieldsParsed() throws AdventureGuideException {
+        Command command = Parser.parse("event project meeting /from 12/2/2025 1800 /to 13/2/2025 0930");
+        assertEquals("project meeting", command.getDescription());
+        assertEquals(LocalDateTime.of(2025, 2, 12, 18, 0), command.getStart());
+        assertEquals(LocalDateTime.of(2025, 2, 13, 9, 30), command.getEnd());
+    }
+
+    @Test
+    public void parse_missingFields_exceptionThrown() {
+        for (String input : new String[] { "todo", "deadline", "deadline return book", "deadline /by 2/12/2019 1800",
+                "deadline return book /by ", "event fair /from 12/2/2025 1800", "event fair /to 12/2/2025 1800" }) {
+            assertThrows(EmptyDescriptionException.class, () -> Parser.parse(input), input);
+        }
+    }
+
+    @Test
+    public void parse_invalidDates_exceptionThrown() {
+        for (String input : new String[] { "deadline a /by 2019-12-2", "deadline a /by 2/12/2019 18:00",
+                "deadline a /by 32/1/2019 1800", "deadline a /by 1/13/2019 1800", "deadline a /by 1/1/2019 1860",
+                "deadline a /by 1/1/0000 1200" }) {
+            assertThrows(InvalidDateFormatException.class, () -> Parser.parse(input), input);
+        }
+    }
+
+    @Test
+    public void parse_datesOutsideFastPath_resolvedLikeFormatter() throws AdventureGuideException {
+        for (String date : new String[] { "31/4/2024 1200", "29/2/2023 0800", "1/1/2024 2400", "01/02/2024 0000" }) {
+            LocalDateTime expected = LocalDateTime.parse(date, Deadline.getInputFormatter());
+            assertEquals(expected, Parser.parse("deadline a /by " + date).getStart(), date);
+        }
+    }
+
+    @Test
+    public void parse_agenda_boundariesResolved() throws AdventureGuideException {
+        Command range = Parser.parse("agenda 1/1/2024 /to 7/1/2024 1200");
+        assertEquals(LocalDateTime.of(2024, 1, 1, 0, 0), range.getStart());
+        assertEquals(LocalDateTime.of(2024, 1, 7, 12, 0), range.getEnd());
+
+        Command day = Parser.parse("agenda 1/1/2024 0900");
+        assertEquals(LocalDateTime.of(2024, 1, 1, 9, 0), day.getStart());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 23, 59), day.getEnd());
+
+        Command due = Parser.parse("due 2/12/2019");
+        assertEquals(LocalDateTime.of(2019, 12, 2, 0, 0), due.getStart());
+        assertEquals(LocalDateTime.of(2019, 12, 2, 23, 59), due.getEnd());
+    }
+
+    @Test
+    public void parse_invalidAgenda_exceptionThrown() {
+        assertThrows(MissingDateException.class, () -> Parser.parse("agenda"));
+        assertThrows(MissingDateException.class, () -> Parser.parse("agenda 1/1/2024 /to "));
+        assertThrows(MissingDateException.class, () -> Parser.parse("due "));
+        assertThrows(InvalidDateFormatException.class, () -> Parser.parse("due tomorrow"));
+        assertThrows(InvalidDateRangeException.class, () -> Parser.parse("agenda 7/1/2024 /to 1/1/2024"));
+    }
+}
@@ -0,0 +1,152 @@
+package duke.components;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the ReminderScheduler class.
+ */
+public class ReminderSchedulerTest {
+    private static final Duration LEAD_TIME = Duration.ofHours(1);
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 1, 12, 0);
+    private static final Clock FIXED_CLOCK = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+
+    @Test
+    public void addTask_deadlineWithinLeadTime_reminderFires() throws InterruptedException {
+        TaskList taskList = new TaskList();
+        BlockingQueue<ReminderScheduler.Reminder> fired = new LinkedBlockingQueue<>();
+        try (ReminderScheduler scheduler = new ReminderScheduler(taskList, LEAD_TIME, fired::add)) {
+            Deadline deadline = new Deadline("return book", LocalDateTime.now().plusMinutes(30));
+            taskList.addTask(deadline);
+
+            ReminderScheduler.Reminder reminder = fired.poll(5, TimeUnit.SECONDS);
+
+            assertNotNull(reminder);
+            assertSame(deadline, reminder.getTask());
+            assertEquals(deadline.getByDateTime(), reminder.getDueDateTime());
+            assertEquals(0, scheduler.getPendingCount());
+        }
+    }
+
+    @Test
+    public void addTask_reminderInFuture_firesAtLeadTimeBeforeDue() throws InterruptedException {
+        TaskList taskList = new TaskList();
+        BlockingQueue<ReminderScheduler.Reminder> fired = new LinkedBlockingQueue<>();
+        Duration leadTime = Duration.ofMinutes(10);
+        try (ReminderScheduler scheduler = new ReminderScheduler(taskList, leadTime, fired::add)) {
+            LocalDateTime start = LocalDateTime.now().plus(leadTime).plusNanos(TimeUnit.MILLISECONDS.toNanos(300));
+            taskList.addTask(new Event("meeting", start, start.plusHours(1)));
+            taskList.addTask(new Deadline("later", start.plusDays(1)));
+
+            assertNull(fired.poll(100, TimeUnit.MILLISECONDS));
+            ReminderScheduler.Reminder reminder = fired.poll(5, TimeUnit.SECONDS);
+
+            assertNotNull(reminder);
+            assertEquals("meeting", reminder.getTask().getDescription());
+            assertEquals(1, scheduler.getPendingCount());
+        }
+    }
+
+    @Test
+    public void tagTask_reminderFired_notFiredAgain() throws InterruptedException {
+        TaskList taskList = new TaskList();
+        BlockingQueue<ReminderScheduler.Reminder> fired = new LinkedBlockingQueue<>();
+        try (ReminderScheduler scheduler = new ReminderScheduler(taskList, LEAD_TIME, fired::add)) {
+            taskList.addTask(new Deadline("return book", LocalDateTime.now().plusMinutes(30)));
+            assertNotNull(fired.poll(5, TimeUnit.SECONDS));
+
+            taskList.tagTask(0, "library");
+            taskList.untagTask(0);
+
+            assertNull(fired.poll(300, TimeUnit.MILLISECONDS));
+            assertEquals(0, scheduler.getPendingCount());
+
+            taskList.markTask(0);
+            taskList.unmarkTask(0);
+
+            assertNotNull(fired.poll(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void tasksChanged_pendingReminders_followChanges() {
+        TaskList taskList = new TaskList();
+        try (ReminderScheduler scheduler = new ReminderScheduler(taskList, LEAD_TIME, reminder -> { },
+                FIXED_CLOCK)) {
+            taskList.addTask(new ToDo("read"));
+            taskList.addTask(new Deadline("return book", NOW.plusDays(1)));
+            taskList.addTask(new Event("meeting", NOW.plusDays(2), NOW.plusDays(2).plusHours(1)));
+            taskList.addTask(new Deadline("overdue", NOW.minusDays(1)));
+            assertEquals(2, scheduler.getPendingCount());
+
+            taskList.markTask(1);
+            assertEquals(1, scheduler.getPendingCount());
+            taskList.unmarkTask(1);
+            assertEquals(2, scheduler.getPendingCount());
+            taskList.markTasks(new int[] { 1, 2 });
+            assertEquals(0, scheduler.getPendingCount());
+            taskList.unmarkTasks(new int[] { 1, 2, 3 });
+            assertEquals(2, scheduler.getPendingCount());
+            taskList.removeTask(2);
+            assertEquals(1, scheduler.getPendingCount());
+            taskList.removeTasks(new int[] { 0, 1 });
+            assertEquals(0, scheduler.getPendingCount());
+        }
+    }
+
+    @Test
+    public void constructor_existingTasks_scheduledWithOneThread() {
+        List<Task> initialTasks = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            // Beyond the lead time, so that no reminder fires during the test.
+            initialTasks.add(new Deadline("deadline " + i, NOW.plusHours(2).plusMinutes(i), i % 2 == 0));
+        }
+        TaskList taskList = new TaskList(initialTasks);
+        int threadsBefore = Thread.activeCount();
+
+        try (ReminderScheduler scheduler = new ReminderScheduler(taskList, LEAD_TIME, reminder -> { },
+                FIXED_CLOCK)) {
+            assertEquals(50_000, scheduler.getPendingCount());
+            taskList.removeTasks(new int[] { 0, 1, 3 });
+            assertEquals(49_998, scheduler.getPendingCount());
+            assertTrue(Thread.activeCount() <= threadsBefore + 1);
+        }
+    }
+
+    @Test
+    public void close_pendingReminders_stopListening() {
+        TaskList taskList = new TaskList();
+        ReminderScheduler scheduler = new ReminderScheduler(taskList, LEAD_TIME, reminder -> { }, FIXED_CLOCK);
+        taskList.addTask(new Deadline("return book", NOW.plusDays(1)));
+
+        scheduler.close();
+        taskList.addTask(new Deadline("read", NOW.plusDays(1)));
+
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    public void constructor_clockInOtherZone_dueTimeInThatZone() {
+        TaskList taskList = new TaskList();
+        Clock clock = Clock.fixed(Instant.parse("2024-03-01T12:00:00Z"), ZoneOffset.ofHours(8));
+        try (ReminderScheduler scheduler = new ReminderScheduler(taskList, LEAD_TIME, reminder -> { }, clock)) {
+            // 19:00 at UTC+8 is 11:00 UTC, an hour before the clock's current time, and 22:00 is two hours after.
+            taskList.addTask(new Deadline("past", LocalDateTime.of(2024, 3, 1, 19, 0)));
+            taskList.addTask(new Deadline("future", LocalDateTime.of(2024, 3, 1, 22, 0)));
+
+            assertEquals(1, scheduler.getPendingCount());
+        }
+    }
+}
@@ -0,0 +1,380 @@
+package duke.components;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the TaskList class.
+ */
+public class TaskListTest {
+    private static final String[] WORDS = { "read", "book", "notebook", "return", "books", "meet", "meeting", "a" };
+
+    @Test
+    public void findTasks_substringOfToken_matchingTasksInListOrder() {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new ToDo("borrow notebook"));
+        taskList.addTask(new ToDo("read"));
+        taskList.addTask(new ToDo("return book"));
+
+        List<Task> matchingTasks = taskList.findTasks("book");
+
+        assertEquals(2, matchingTasks.size());
+        assertEquals("borrow notebook", matchingTasks.get(0).getDescription());
+        assertEquals("return book", matchingTasks.get(1).getDescription());
+    }
+
+    @Test
+    public void findTasks_keywordAcrossTokens_onlyExactSubstringsMatched() {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new ToDo("return book today"));
+        taskList.addTask(new ToDo("book return"));
+
+        List<Task> matchingTasks = taskList.findTasks("rn boo");
+
+        assertEquals(1, matchingTasks.size());
+        assertEquals("return book today", matchingTasks.get(0).getDescription());
+    }
+
+    @Test
+    public void findTasks_removedTask_notFound() {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new ToDo("return book"));
+        taskList.addTask(new ToDo("read book"));
+        taskList.removeTask(0);
+
+        List<Task> matchingTasks = taskList.findTasks("return");
+
+        assertTrue(matchingTasks.isEmpty());
+        assertEquals(1, taskList.findTasks("book").size());
+    }
+
+    @Test
+    public void findTasks_randomMutations_sameResultsAsLinearScan() {
+        Random random = new Random(42);
+        TaskList taskList = new TaskList();
+        List<Task> expected = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            if (!expected.isEmpty() && random.nextInt(4) == 0) {
+                int index = random.nextInt(expected.size());
+                expected.remove(index);
+                taskList.removeTask(index);
+            } else {
+                Task task = new ToDo(WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]);
+                expected.add(task);
+                taskList.addTask(task);
+            }
+        }
+
+        for (String keyword : new String[] { "book", "ook", "a", "meet", "k r", "read book", " ", "", "xyz" }) {
+            List<Task> linearMatches = new ArrayList<>();
+            for (Task task : expected) {
+                if (task.getDescription().contains(keyword)) {
+                    linearMatches.add(task);
+                }
+            }
+            assertEquals(linearMatches, taskList.findTasks(keyword), keyword);
+        }
+    }
+
+    @Test
+    public void findEventsAndDeadlines_randomMutations_sameResultsAsLinearScan() {
+        Random random = new Random(7);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        TaskList taskList = new TaskList();
+        List<Task> expected = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            if (!expected.isEmpty() && random.nextInt(4) == 0) {
+                int[] indices = { random.nextInt(expected.size()) };
+                expected.remove(indices[0]);
+                taskList.removeTasks(indices);
+                continue;
+            }
+            LocalDateTime start = base.plusMinutes(random.nextInt(10_000));
+            Task task;
+            switch (random.nextInt(3)) {
+            case 0:
+                task = new ToDo("todo " + i);
+                break;
+            case 1:
+                task = new Deadline("deadline " + i, start);
+                break;
+            default:
+                task = new Event("event " + i, start, start.plusMinutes(random.nextInt(500)));
+                break;
+            }
+            expected.add(task);
+            taskList.addTask(task);
+        }
+
+        for (int query = 0; query < 200; query++) {
+            LocalDateTime from = base.plusMinutes(random.nextInt(10_500) - 200);
+            LocalDateTime to = from.plusMinutes(random.nextInt(query % 2 == 0 ? 60 : 2000));
+            List<Task> linearDeadlines = new ArrayList<>();
+            List<Task> linearEvents = new ArrayList<>();
+            for (Task task : expected) {
+                if (task instanceof Deadline) {
+                    LocalDateTime by = ((Deadline) task).getByDateTime();
+                    if (!by.isBefore(from) && !by.isAfter(to)) {
+                        linearDeadlines.add(task);
+                    }
+                } else if (task instanceof Event) {
+                    Event event = (Event) task;
+                    if (!event.getFromDateTime().isAfter(to) && !event.getToDateTime().isBefore(from)) {
+                        linearEvents.add(task);
+                    }
+                }
+            }
+            linearDeadlines.sort(Comparator.comparing((Task task) -> ((Deadline) task).getByDateTime())
+                    .thenComparing(Task.BY_LIST_ORDER));
+            linearEvents.sort(Comparator.comparing((Task task) -> ((Event) task).getFromDateTime())
+                    .thenComparing(Task.BY_LIST_ORDER));
+
+            assertEquals(linearDeadlines, taskList.findDeadlines(from, to));
+            assertEquals(linearEvents, taskList.findEvents(from, to));
+            List<Task> agenda = taskList.getAgenda(from, to);
+            assertEquals(linearDeadlines.size() + linearEvents.size(), agenda.size());
+            assertTrue(agenda.containsAll(linearDeadlines) && agenda.containsAll(linearEvents));
+        }
+    }
+
+    @Test
+    public void getAgenda_deadlinesAndEvents_orderedByTime() {
+        TaskList taskList = new TaskList();
+        Task lateDeadline = new Deadline("late", LocalDateTime.of(2024, 1, 2, 18, 0));
+        Task longEvent = new Event("trip", LocalDateTime.of(2023, 12, 30, 9, 0), LocalDateTime.of(2024, 1, 5, 9, 0));
+        Task earlyDeadline = new Deadline("early", LocalDateTime.of(2024, 1, 2, 8, 0));
+        Task meeting = new Event("meeting", LocalDateTime.of(2024, 1, 2, 10, 0), LocalDateTime.of(2024, 1, 2, 11, 0));
+        Task outside = new Event("later", LocalDateTime.of(2024, 1, 3, 0, 0), LocalDateTime.of(2024, 1, 3, 1, 0));
+        for (Task task : List.of(lateDeadline, longEvent, earlyDeadline, meeting, outside, new ToDo("undated"))) {
+            taskList.addTask(task);
+        }
+
+        List<Task> agenda = taskList.getAgenda(LocalDateTime.of(2024, 1, 2, 0, 0), LocalDateTime.of(2024, 1, 2, 23, 59));
+
+        assertEquals(List.of(longEvent, earlyDeadline, meeting, lateDeadline), agenda);
+    }
+
+    @Test
+    public void findTasksByTag_taggedRetaggedAndDeleted_indexKeptInSync() {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new ToDo("read"));
+        taskList.addTask(new ToDo("write"));
+        taskList.addTask(new ToDo("run"));
+        taskList.tagTask(2, "work");
+        taskList.tagTask(0, "work");
+        taskList.tagTask(1, "fun");
+
+        assertEquals(List.of(taskList.getTask(0), taskList.getTask(2)), taskList.findTasksByTag("work"));
+
+        taskList.tagTask(0, "fun");
+        taskList.untagTask(1);
+        taskList.removeTask(2);
+
+        assertTrue(taskList.findTasksByTag("work").isEmpty());
+        assertEquals(List.of(taskList.getTask(0)), taskList.findTasksByTag("fun"));
+        assertEquals(1, taskList.getTagCounts().size());
+        assertEquals(1, taskList.getTagCounts().get("fun"));
+    }
+
+    @Test
+    public void removeTask_randomPositions_sameOrderAsArrayListAndStableIds() {
+        Random random = new Random(7);
+        TaskList taskList = new TaskList();
+        List<Task> expected = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            if (!expected.isEmpty() && random.nextInt(3) == 0) {
+                int index = random.nextInt(expected.size());
+                assertSame(expected.remove(index), taskList.removeTask(index));
+            } else {
+                Task task = new ToDo("task " + i);
+                expected.add(task);
+                taskList.addTask(task);
+            }
+        }
+
+        assertEquals(expected.size(), taskList.size());
+        assertEquals(expected, taskList.getTasks());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), taskList.getTask(i));
+            assertEquals(i, taskList.indexOfId(expected.get(i).getId()));
+        }
+    }
+
+    @Test
+    public void removeTasks_randomSelections_sameOrderAsArrayList() {
+        Random random = new Random(11);
+        TaskList taskList = new TaskList();
+        List<Task> expected = new ArrayList<>();
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 200; i++) {
+                Task task = new ToDo("task " + round + " " + i);
+                expected.add(task);
+                taskList.addTask(task);
+            }
+            int[] indices = random.ints(random.nextInt(300), 0, expected.size()).distinct().sorted().toArray();
+            List<Task> expectedRemoved = new ArrayList<>();
+            for (int i = indices.length - 1; i >= 0; i--) {
+                expectedRemoved.add(0, expected.remove(indices[i]));
+            }
+            assertEquals(expectedRemoved, taskList.removeTasks(indices));
+        }
+
+        assertEquals(expected, taskList.getTasks());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(i, taskList.indexOfId(expected.get(i).getId()));
+        }
+        assertEquals(expected.size(), taskList.findTasks("task").size());
+    }
+
+    @Test
+    public void restoreTasks_removedInReverseOrder_originalListRestored() {
+        Random random = new Random(13);
+        TaskList taskList = new TaskList();
+        for (int i = 0; i < 2000; i++) {
+            taskList.addTask(new ToDo("task " + i));
+        }
+        List<Task> original = taskList.snapshot();
+        List<List<Task>> removals = new ArrayList<>();
+        // Removing most of the tasks compacts the array, so later restores have to merge instead of refilling slots.
+        while (taskList.size() > 10) {
+            int[] indices = random.ints(random.nextInt(taskList.size() / 2 + 1), 0, taskList.size())
+                    .distinct().sorted().toArray();
+            removals.add(taskList.removeTasks(indices));
+        }
+
+        for (int i = removals.size() - 1; i >= 0; i--) {
+            int[] indices = taskList.restoreTasks(removals.get(i));
+            for (int j = 0; j < indices.length; j++) {
+                assertSame(removals.get(i).get(j), taskList.getTask(indices[j]));
+            }
+        }
+
+        assertEquals(original, taskList.getTasks());
+        for (int i = 0; i < original.size(); i++) {
+            assertEquals(i, taskList.indexOfId(original.get(i).getId()));
+        }
+        assertEquals(original.size(), taskList.findTasks("task").size());
+    }
+
+    @Test
+    public void setStates_doneFlagsAndTags_tagIndexKeptInSync() {
+        TaskList taskList = new TaskList();
+        for (int i = 0; i < 3; i++) {
+            taskList.addTask(new ToDo("task " + i));
+        }
+        taskList.tagTask(0, "work");
+        BitSet doneTasks = new BitSet();
+        doneTasks.set(1);
+
+        taskList.setStates(new int[] { 0, 2 }, doneTasks, new String[] { null, "home" });
+
+        assertFalse(taskList.getTask(0).isDone());
+        assertTrue(taskList.getTask(2).isDone());
+        assertEquals(0, taskList.findTasksByTag("work").size());
+        assertEquals(List.of(taskList.getTask(2)), taskList.findTasksByTag("home"));
+    }
+
+    @Test
+    public void indexOfId_removedTask_notFound() {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new ToDo("first"));
+        taskList.addTask(new ToDo("second"));
+        long secondId = taskList.getTask(1).getId();
+        long firstId = taskList.getTask(0).getId();
+
+        taskList.removeTask(0);
+
+        assertEquals(-1, taskList.indexOfId(firstId));
+        assertEquals(0, taskList.indexOfId(secondId));
+        assertEquals("second", taskList.getTaskById(secondId).getDescription());
+    }
+
+    @Test
+    public void concurrentReadersAndWriters_indexesConsistent() throws Exception {
+        TaskList taskList = new TaskList();
+        AtomicInteger removedCount = new AtomicInteger();
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> writers = new ArrayList<>();
+        List<Future<?>> readers = new ArrayList<>();
+        for (int w = 0; w < 4; w++) {
+            String tag = "writer" + w;
+            writers.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 2000; i++) {
+                    taskList.addTask(new ToDo("task " + i));
+                    try {
+                        switch (random.nextInt(4)) {
+                        case 0:
+                            taskList.removeTask(random.nextInt(taskList.size()));
+                            removedCount.incrementAndGet();
+                            break;
+                        case 1:
+                            taskList.markTask(random.nextInt(taskList.size()));
+                            break;
+                        default:
+                            taskList.tagTask(random.nextInt(taskList.size()), tag);
+                        }
+                    } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+                        // Another writer removed tasks between size() and the change.
+                    }
+                }
+            }));
+        }
+        for (int r = 0; r < 4; r++) {
+            readers.add(executor.submit(() -> {
+                while (isWriting.get()) {
+                    List<Task> snapshot = taskList.snapshot();
+                    for (int i = 1; i < snapshot.size(); i++) {
+                        assertTrue(snapshot.get(i - 1).getId() < snapshot.get(i).getId());
+                    }
+                    for (Task task : taskList.findTasks("task 1")) {
+                        assertTrue(task.getDescription().contains("task 1"));
+                    }
+                    List<Task> taggedTasks = taskList.findTasksByTag("writer0");
+                    for (int i = 1; i < taggedTasks.size(); i++) {
+                        assertTrue(taggedTasks.get(i - 1).getId() < taggedTasks.get(i).getId());
+                    }
+                    taskList.getTagCounts();
+                }
+            }));
+        }
+        try {
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            isWriting.set(false);
+            executor.shutdown();
+        }
+        for (Future<?> reader : readers) {
+            reader.get();
+        }
+
+        assertEquals(4 * 2000 - removedCount.get(), taskList.size());
+        assertEquals(taskList.size(), taskList.findTasks("task").size());
+        int taggedCount = 0;
+        for (int count : taskList.getTagCounts().values()) {
+            taggedCount += count;
+        }
+        int expectedTaggedCount = 0;
+        for (Task task : taskList.getTasks()) {
+            expectedTaggedCount += task.hasTag() ? 1 : 0;
+        }
+        assertEquals(expectedTaggedCount, taggedCount);
+    }
+}
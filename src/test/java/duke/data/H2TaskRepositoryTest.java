@@ -0,0 +1,101 @@
+package duke.data;
+
+import duke.components.Deadline;
+import duke.components.Event;
+import duke.components.Task;
+import duke.components.TaskList;
+import duke.components.ToDo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the H2TaskRepository class.
+ */
+public class H2TaskRepositoryTest {
+    private static final String TEST_DATABASE_PATH = "./data/test_tasks";
+
+    private H2TaskRepository repository;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Files.deleteIfExists(Paths.get(TEST_DATABASE_PATH + ".mv.db"));
+        Files.deleteIfExists(Paths.get(TEST_DATABASE_PATH + ".trace.db"));
+        repository = new H2TaskRepository(TEST_DATABASE_PATH);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        repository.close();
+    }
+
+    @Test
+    public void load_newDatabase_emptyTaskList() throws IOException {
+        assertTrue(repository.load().isEmpty());
+    }
+
+    @Test
+    public void commitAndLoad_changedTasks_rowsUpdated() throws IOException {
+        TaskList taskList = new TaskList(repository.load());
+        Task todo = new ToDo("Read book");
+        Task deadline = new Deadline("Return book", "2/12/2019 1800");
+        Task event = new Event("Book fair", "3/12/2019 0900", "3/12/2019 1700");
+        for (Task task : List.of(todo, deadline, event)) {
+            taskList.addTask(task);
+            repository.insert(task);
+        }
+        repository.commit(taskList.getTasks());
+
+        taskList.markTask(1);
+        repository.update(1, deadline);
+        event.setTag("fun");
+        repository.update(2, event);
+        repository.delete(0, taskList.removeTask(0));
+        repository.commit(taskList.getTasks());
+        repository.close();
+
+        repository = new H2TaskRepository(TEST_DATABASE_PATH);
+        List<Task> loadedTasks = repository.load();
+        assertEquals(2, loadedTasks.size());
+        assertEquals(deadline.toString(), loadedTasks.get(0).toString());
+        assertEquals(event.toString(), loadedTasks.get(1).toString());
+        assertEquals(deadline.getId(), loadedTasks.get(0).getId());
+        assertEquals("fun", loadedTasks.get(1).getTag());
+    }
+
+    @Test
+    public void load_uncommittedChanges_changesNotSaved() throws IOException {
+        Task task = new ToDo("Forgotten");
+        new TaskList().addTask(task);
+        repository.insert(task);
+        repository.close();
+
+        repository = new H2TaskRepository(TEST_DATABASE_PATH);
+        assertTrue(repository.load().isEmpty());
+    }
+
+    @Test
+    public void query_keywordWithWildcards_matchedLiterally() throws IOException {
+        TaskList taskList = new TaskList();
+        for (String description : new String[] {"save 100%", "save 1000", "file_name", "filename"}) {
+            Task task = new ToDo(description);
+            taskList.addTask(task);
+            repository.insert(task);
+        }
+        repository.commit(taskList.getTasks());
+
+        List<Task> percentMatches = repository.query("0%");
+        assertEquals(1, percentMatches.size());
+        assertEquals("save 100%", percentMatches.get(0).getDescription());
+        List<Task> underscoreMatches = repository.query("e_n");
+        assertEquals(1, underscoreMatches.size());
+        assertEquals("file_name", underscoreMatches.get(0).getDescription());
+    }
+}
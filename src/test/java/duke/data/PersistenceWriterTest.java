@@ -0,0 +1,40 @@
+package duke.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the PersistenceWriter class.
+ */
+public class PersistenceWriterTest {
+    @Test
+    public void flush_writeThrowsRuntimeException_failureReported() throws IOException {
+        // A NUL character makes resolving the snapshot path throw InvalidPathException on the writer thread.
+        PersistenceWriter writer = new PersistenceWriter("./data/invalid\0tasks.bin", "./data/invalid.journal",
+                false);
+        writer.submitSnapshot(new byte[0]);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> flush = executor.submit(() -> {
+                writer.flush();
+                return null;
+            });
+            ExecutionException e = assertThrows(ExecutionException.class, () -> flush.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof IOException);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThrows(IOException.class, () -> writer.submitRecords(List.of("A | T | 0 | read")));
+        assertThrows(IOException.class, writer::close);
+    }
+}
@@ -1,6 +1,7 @@
 package duke.data;
 
 import duke.components.Deadline;
+import duke.components.Event;
 import duke.components.Task;
 import duke.components.TaskList;
 import duke.components.ToDo;
@@ -8,8 +9,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -20,11 +23,19 @@ import static org.junit.jupiter.api.Assertions.*;
 public class StorageTest {
     private Storage storage;
     private static final String TEST_FILE_PATH = "./data/test_tasks.txt";
+    private static final String TEST_BINARY_FILE_PATH = "./data/test_tasks.bin";
 
     @BeforeEach
     public void setUp() throws IOException {
         storage = new Storage(TEST_FILE_PATH);
         Files.deleteIfExists(Paths.get(TEST_FILE_PATH));
+        Files.deleteIfExists(Paths.get(TEST_FILE_PATH + ".journal"));
+        Files.deleteIfExists(Paths.get(TEST_FILE_PATH + ".bak"));
+        Files.deleteIfExists(Paths.get(TEST_FILE_PATH + ".v1.bak"));
+        Files.deleteIfExists(Paths.get(TEST_FILE_PATH + ".corrupt"));
+        Files.deleteIfExists(Paths.get(TEST_FILE_PATH + ".journal.corrupt"));
+        Files.deleteIfExists(Paths.get(TEST_BINARY_FILE_PATH + ".corrupt"));
+        Files.deleteIfExists(Paths.get(TEST_BINARY_FILE_PATH));
     }
 
     @Test
@@ -46,4 +57,407 @@ public class StorageTest {
         List<Task> loadedTasks = storage.load();
         assertTrue(loadedTasks.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void commitAndLoadTasks_journaledMutations_journalReplayed() throws IOException {
+        TaskList taskList = new TaskList(storage.load());
+        Task first = new ToDo("First");
+        taskList.addTask(first);
+        storage.insert(first);
+        Task second = new Deadline("Second", "2/12/2019 1800");
+        taskList.addTask(second);
+        storage.insert(second);
+        storage.commit(taskList.getTasks());
+
+        second.markAsDone();
+        storage.update(1, second);
+        storage.delete(0, taskList.removeTask(0));
+        storage.commit(taskList.getTasks());
+
+        assertTrue(Files.exists(Paths.get(TEST_FILE_PATH + ".journal")));
+        List<Task> loadedTasks = new Storage(TEST_FILE_PATH).load();
+        assertEquals(1, loadedTasks.size());
+        assertEquals("Second", loadedTasks.get(0).getDescription());
+        assertTrue(loadedTasks.get(0).isDone());
+    }
+
+    @Test
+    public void commit_journalOverThreshold_snapshotCompacted() throws IOException {
+        storage.setCompactionThreshold(2);
+        TaskList taskList = new TaskList(storage.load());
+        for (int i = 0; i < 3; i++) {
+            Task task = new ToDo("Task " + i);
+            taskList.addTask(task);
+            storage.insert(task);
+            storage.commit(taskList.getTasks());
+        }
+
+        // The header line followed by the three tasks.
+        assertEquals(4, Files.readAllLines(Paths.get(TEST_FILE_PATH)).size());
+        assertFalse(Files.exists(Paths.get(TEST_FILE_PATH + ".journal")));
+        assertEquals(3, new Storage(TEST_FILE_PATH).load().size());
+    }
+
+    @Test
+    public void saveAndLoadTasks_binaryFormat_tasksSavedAndLoaded() throws IOException {
+        storage.setFormat(Storage.Format.BINARY);
+        TaskList taskList = new TaskList();
+        Task todo = new ToDo("Test ToDo");
+        todo.setTag("fun");
+        taskList.addTask(todo);
+        taskList.addTask(new Deadline("Test Deadline", "2/12/2019 1800", true));
+        taskList.addTask(new Event("Test Event", "12/2/2025 1800", "13/2/2025 0930"));
+
+        storage.save(taskList.getTasks());
+
+        assertTrue(Files.exists(Paths.get(TEST_BINARY_FILE_PATH)));
+        List<Task> loadedTasks = storage.load();
+        assertEquals(3, loadedTasks.size());
+        assertEquals("fun", loadedTasks.get(0).getTag());
+        assertEquals(3, loadedTasks.get(2).getId());
+        assertTrue(loadedTasks.get(1).isDone());
+        assertEquals("2/12/2019 1800", ((Deadline) loadedTasks.get(1)).getBy());
+        assertEquals("12/2/2025 1800", ((Event) loadedTasks.get(2)).getFrom());
+        assertEquals("13/2/2025 0930", ((Event) loadedTasks.get(2)).getTo());
+    }
+
+    @Test
+    public void loadTasks_textFileInBinaryFormat_migratedToBinary() throws IOException {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new ToDo("Test ToDo"));
+        taskList.addTask(new Deadline("Test Deadline", "2/12/2019 1800"));
+        storage.save(taskList.getTasks());
+
+        Storage binaryStorage = new Storage(TEST_FILE_PATH);
+        binaryStorage.setFormat(Storage.Format.BINARY);
+        List<Task> loadedTasks = binaryStorage.load();
+
+        assertEquals(2, loadedTasks.size());
+        assertTrue(Files.exists(Paths.get(TEST_BINARY_FILE_PATH)));
+        assertTrue(Files.exists(Paths.get(TEST_FILE_PATH + ".bak")));
+        assertFalse(Files.exists(Paths.get(TEST_FILE_PATH)));
+        assertEquals("Test Deadline", binaryStorage.load().get(1).getDescription());
+    }
+
+    @Test
+    public void commitAndFlush_asyncMode_allMutationsWritten() throws IOException {
+        storage.setCompactionThreshold(50);
+        storage.setAsync(true);
+        TaskList taskList = new TaskList(storage.load());
+        for (int i = 0; i < 120; i++) {
+            Task task = new ToDo("Task " + i);
+            taskList.addTask(task);
+            storage.insert(task);
+            storage.commit(taskList.getTasks());
+        }
+        storage.delete(0, taskList.removeTask(0));
+        storage.commit(taskList.getTasks());
+        storage.close();
+
+        List<Task> loadedTasks = new Storage(TEST_FILE_PATH).load();
+        assertEquals(119, loadedTasks.size());
+        assertEquals("Task 1", loadedTasks.get(0).getDescription());
+        assertEquals("Task 119", loadedTasks.get(118).getDescription());
+    }
+
+    @Test
+    public void commit_commitInterval_writesEveryNthCommitAndOnFlush() throws IOException {
+        storage.setCommitInterval(3);
+        TaskList taskList = new TaskList(storage.load());
+        for (int i = 1; i <= 4; i++) {
+            Task task = new ToDo("Task " + i);
+            taskList.addTask(task);
+            storage.insert(task);
+            storage.commit(taskList.getTasks());
+            if (i == 2) {
+                assertFalse(Files.exists(Paths.get(TEST_FILE_PATH + ".journal")));
+            }
+        }
+
+        // The journal header line followed by the records.
+        assertEquals(4, Files.readAllLines(Paths.get(TEST_FILE_PATH + ".journal")).size());
+        storage.flush();
+        assertEquals(5, Files.readAllLines(Paths.get(TEST_FILE_PATH + ".journal")).size());
+        assertEquals(4, new Storage(TEST_FILE_PATH).load().size());
+    }
+
+    @Test
+    public void commitAndLoadTasks_tagsAndIds_keptInSnapshotAndJournal() throws IOException {
+        TaskList taskList = new TaskList(storage.load());
+        for (int i = 1; i <= 3; i++) {
+            Task task = new ToDo("Task " + i);
+            taskList.addTask(task);
+            storage.insert(task);
+        }
+        storage.delete(0, taskList.removeTask(0));
+        storage.save(taskList.getTasks());
+        storage.update(1, taskList.tagTask(1, "work"));
+        storage.commit(taskList.getTasks());
+
+        List<Task> loadedTasks = new Storage(TEST_FILE_PATH).load();
+        assertEquals(2, loadedTasks.size());
+        assertEquals(2, loadedTasks.get(0).getId());
+        assertEquals(3, loadedTasks.get(1).getId());
+        assertFalse(loadedTasks.get(0).hasTag());
+        assertEquals("work", loadedTasks.get(1).getTag());
+    }
+
+    @Test
+    public void loadTasks_versionOneFile_upgradedInOnePass() throws IOException {
+        Files.createDirectories(Paths.get(TEST_FILE_PATH).getParent());
+        String versionOne = "T | 1 | read book\nD | 0 | return book | 2/12/2019 1800\n";
+        Files.write(Paths.get(TEST_FILE_PATH), versionOne.getBytes(StandardCharsets.UTF_8));
+        Files.write(Paths.get(TEST_FILE_PATH + ".journal"), "R | 0\n".getBytes(StandardCharsets.UTF_8));
+
+        List<Task> loadedTasks = storage.load();
+
+        assertEquals(1, loadedTasks.size());
+        assertEquals(1, loadedTasks.get(0).getId());
+        List<String> lines = Files.readAllLines(Paths.get(TEST_FILE_PATH));
+        assertEquals(2, lines.size());
+        assertEquals("#AGTASKS v2 | generation=1", lines.get(0));
+        assertTrue(lines.get(1).startsWith("D | 0 | return book | 2/12/2019 1800 | id=1 | crc="), lines.get(1));
+        assertEquals(versionOne, Files.readString(Paths.get(TEST_FILE_PATH + ".v1.bak")));
+        assertFalse(Files.exists(Paths.get(TEST_FILE_PATH + ".journal")));
+    }
+
+    @Test
+    public void loadTasks_unknownOptionalFields_skipped() throws IOException {
+        Files.createDirectories(Paths.get(TEST_FILE_PATH).getParent());
+        Files.write(Paths.get(TEST_FILE_PATH), ("#AGTASKS v2\n"
+                + "T | 0 | read book | id=4 | created=2025-01-01T10:00 | tag=fun\n").getBytes(StandardCharsets.UTF_8));
+
+        List<Task> loadedTasks = storage.load();
+
+        assertEquals(1, loadedTasks.size());
+        assertEquals("read book", loadedTasks.get(0).getDescription());
+        assertEquals(4, loadedTasks.get(0).getId());
+        assertEquals("fun", loadedTasks.get(0).getTag());
+    }
+
+    @Test
+    public void loadTasks_newerVersion_exceptionThrown() throws IOException {
+        Files.createDirectories(Paths.get(TEST_FILE_PATH).getParent());
+        Files.write(Paths.get(TEST_FILE_PATH), "#AGTASKS v3\nT | 0 | read book\n".getBytes(StandardCharsets.UTF_8));
+
+        try {
+            storage.load();
+            fail();
+        } catch (IOException e) {
+            assertEquals("Unsupported task file version: 3", e.getMessage());
+        }
+    }
+
+    @Test
+    public void save_writeFails_previousSnapshotKept() throws IOException {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new ToDo("Test ToDo"));
+        storage.save(taskList.getTasks());
+        byte[] saved = Files.readAllBytes(Paths.get(TEST_FILE_PATH));
+
+        try {
+            AtomicFiles.replace(TEST_FILE_PATH, out -> {
+                out.write("T | 0 | half writ".getBytes(StandardCharsets.UTF_8));
+                throw new IOException("Disk full");
+            }, false);
+            fail();
+        } catch (IOException e) {
+            assertEquals("Disk full", e.getMessage());
+        }
+
+        assertArrayEquals(saved, Files.readAllBytes(Paths.get(TEST_FILE_PATH)));
+        assertFalse(Files.exists(Paths.get(TEST_FILE_PATH + AtomicFiles.TEMP_SUFFIX)));
+    }
+
+    @Test
+    public void load_journalOfReplacedSnapshot_notReplayed() throws IOException {
+        TaskList taskList = new TaskList(storage.load());
+        Task task = new ToDo("Task 1");
+        taskList.addTask(task);
+        storage.insert(task);
+        storage.commit(taskList.getTasks());
+        byte[] journal = Files.readAllBytes(Paths.get(TEST_FILE_PATH + ".journal"));
+
+        // A crash between replacing the snapshot and deleting the journal leaves the old journal behind.
+        storage.save(taskList.getTasks());
+        Files.write(Paths.get(TEST_FILE_PATH + ".journal"), journal);
+
+        List<Task> loadedTasks = new Storage(TEST_FILE_PATH).load();
+        assertEquals(1, loadedTasks.size());
+        assertFalse(Files.exists(Paths.get(TEST_FILE_PATH + ".journal")));
+    }
+
+    @Test
+    public void load_damagedSnapshotRecord_otherTasksRecovered() throws IOException {
+        TaskList taskList = new TaskList();
+        for (int i = 1; i <= 3; i++) {
+            taskList.addTask(new ToDo("Task " + i));
+        }
+        storage.save(taskList.getTasks());
+        String contents = Files.readString(Paths.get(TEST_FILE_PATH));
+        Files.writeString(Paths.get(TEST_FILE_PATH), contents.replace("Task 2", "Tusk 2"));
+
+        Storage recoveringStorage = new Storage(TEST_FILE_PATH);
+        List<Task> loadedTasks = recoveringStorage.load();
+
+        assertEquals(2, loadedTasks.size());
+        assertEquals("Task 3", loadedTasks.get(1).getDescription());
+        assertEquals(3, loadedTasks.get(1).getId());
+        assertEquals(1, recoveringStorage.getSkippedRecordCount());
+        assertTrue(Files.readString(Paths.get(TEST_FILE_PATH + ".corrupt")).contains("Tusk 2"));
+        Storage reloadedStorage = new Storage(TEST_FILE_PATH);
+        assertEquals(2, reloadedStorage.load().size());
+        assertEquals(0, reloadedStorage.getSkippedRecordCount());
+    }
+
+    @Test
+    public void load_tornJournalRecord_earlierRecordsReplayed() throws IOException {
+        TaskList taskList = new TaskList(storage.load());
+        for (int i = 1; i <= 2; i++) {
+            Task task = new ToDo("Task " + i);
+            taskList.addTask(task);
+            storage.insert(task);
+        }
+        storage.commit(taskList.getTasks());
+        Files.write(Paths.get(TEST_FILE_PATH + ".journal"), "A | T | 0 | Tas".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        Storage recoveringStorage = new Storage(TEST_FILE_PATH);
+        List<Task> loadedTasks = recoveringStorage.load();
+
+        assertEquals(2, loadedTasks.size());
+        assertEquals(1, recoveringStorage.getSkippedRecordCount());
+        assertTrue(Files.exists(Paths.get(TEST_FILE_PATH + ".journal.corrupt")));
+        assertFalse(Files.exists(Paths.get(TEST_FILE_PATH + ".journal")));
+        assertEquals(2, new Storage(TEST_FILE_PATH).load().size());
+    }
+
+    @Test
+    public void load_unparseableLine_fileAndCopyKept() throws IOException {
+        byte[] contents = "T | 0 | read\nD | 0 | return book\n".getBytes(StandardCharsets.UTF_8);
+        Files.write(Paths.get(TEST_FILE_PATH), contents);
+
+        assertThrows(IOException.class, () -> new Storage(TEST_FILE_PATH).load());
+
+        assertArrayEquals(contents, Files.readAllBytes(Paths.get(TEST_FILE_PATH)));
+        assertArrayEquals(contents, Files.readAllBytes(Paths.get(TEST_FILE_PATH + ".corrupt")));
+    }
+
+    @Test
+    public void load_intactJournalRecordThatCannotBeApplied_journalAndCopyKept() throws IOException {
+        TaskList taskList = new TaskList(storage.load());
+        Task task = new ToDo("Task 1");
+        taskList.addTask(task);
+        storage.insert(task);
+        storage.commit(taskList.getTasks());
+        Files.write(Paths.get(TEST_FILE_PATH + ".journal"),
+                (TextTaskFormat.addChecksum("R | 5") + "\n").getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+        byte[] journal = Files.readAllBytes(Paths.get(TEST_FILE_PATH + ".journal"));
+
+        assertThrows(IOException.class, () -> new Storage(TEST_FILE_PATH).load());
+
+        assertArrayEquals(journal, Files.readAllBytes(Paths.get(TEST_FILE_PATH + ".journal")));
+        assertArrayEquals(journal, Files.readAllBytes(Paths.get(TEST_FILE_PATH + ".journal.corrupt")));
+    }
+
+    @Test
+    public void load_damagedBinaryRecord_otherTasksRecovered() throws IOException {
+        storage.setFormat(Storage.Format.BINARY);
+        TaskList taskList = new TaskList();
+        for (int i = 1; i <= 3; i++) {
+            taskList.addTask(new ToDo("Task " + i));
+        }
+        storage.save(taskList.getTasks());
+        byte[] snapshot = Files.readAllBytes(Paths.get(TEST_BINARY_FILE_PATH));
+        String text = new String(snapshot, StandardCharsets.ISO_8859_1);
+        snapshot[text.indexOf("Task 2")] = 'M';
+        Files.write(Paths.get(TEST_BINARY_FILE_PATH), snapshot);
+
+        Storage recoveringStorage = new Storage(TEST_FILE_PATH);
+        recoveringStorage.setFormat(Storage.Format.BINARY);
+        List<Task> loadedTasks = recoveringStorage.load();
+
+        assertEquals(2, loadedTasks.size());
+        assertEquals("Task 1", loadedTasks.get(0).getDescription());
+        assertEquals("Task 3", loadedTasks.get(1).getDescription());
+        assertEquals(1, recoveringStorage.getSkippedRecordCount());
+        assertTrue(Files.exists(Paths.get(TEST_BINARY_FILE_PATH + ".corrupt")));
+    }
+
+    @Test
+    public void query_betweenCommits_persistenceStateUnchanged() throws IOException {
+        TaskList taskList = new TaskList();
+        for (int i = 1; i <= 3; i++) {
+            taskList.addTask(new ToDo("Task " + i));
+        }
+        storage.save(taskList.getTasks());
+        String contents = Files.readString(Paths.get(TEST_FILE_PATH));
+        Files.writeString(Paths.get(TEST_FILE_PATH), contents.replace("Task 2", "Tusk 2"));
+        Storage sessionStorage = new Storage(TEST_FILE_PATH);
+        taskList = new TaskList(sessionStorage.load());
+        Task task = new ToDo("Task 4");
+        taskList.addTask(task);
+        sessionStorage.insert(task);
+        sessionStorage.commit(taskList.getTasks());
+        byte[] snapshot = Files.readAllBytes(Paths.get(TEST_FILE_PATH));
+        byte[] journal = Files.readAllBytes(Paths.get(TEST_FILE_PATH + ".journal"));
+
+        List<Task> matchingTasks = sessionStorage.query("Task");
+
+        assertEquals(3, matchingTasks.size());
+        assertEquals("Task 4", matchingTasks.get(2).getDescription());
+        assertArrayEquals(snapshot, Files.readAllBytes(Paths.get(TEST_FILE_PATH)));
+        assertArrayEquals(journal, Files.readAllBytes(Paths.get(TEST_FILE_PATH + ".journal")));
+        assertEquals(1, sessionStorage.getSkippedRecordCount());
+
+        task = new ToDo("Task 5");
+        taskList.addTask(task);
+        sessionStorage.insert(task);
+        sessionStorage.commit(taskList.getTasks());
+        byte[] appendedJournal = Files.readAllBytes(Paths.get(TEST_FILE_PATH + ".journal"));
+        assertEquals(new String(journal, StandardCharsets.UTF_8),
+                new String(appendedJournal, 0, journal.length, StandardCharsets.UTF_8));
+        assertEquals(4, new Storage(TEST_FILE_PATH).load().size());
+    }
+
+    @Test
+    public void insert_positionedRecords_replayedAtTheirPositions() throws IOException {
+        TaskList taskList = new TaskList(storage.load());
+        for (int i = 1; i <= 4; i++) {
+            Task task = new ToDo("Task " + i);
+            taskList.addTask(task);
+            storage.insert(task);
+        }
+        storage.commit(taskList.getTasks());
+        List<Task> removedTasks = taskList.removeTasks(new int[] { 0, 2 });
+        storage.delete(2, removedTasks.get(1));
+        storage.delete(0, removedTasks.get(0));
+        storage.commit(taskList.getTasks());
+
+        int[] indices = taskList.restoreTasks(removedTasks);
+        storage.insert(indices[0], removedTasks.get(0));
+        storage.insert(indices[1], removedTasks.get(1));
+        storage.commit(taskList.getTasks());
+
+        List<Task> loadedTasks = new Storage(TEST_FILE_PATH).load();
+        assertEquals(4, loadedTasks.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals("Task " + (i + 1), loadedTasks.get(i).getDescription());
+            assertEquals(i + 1, loadedTasks.get(i).getId());
+        }
+    }
+
+    @Test
+    public void load_version1DeadlineAtHour24_keptAcrossUpgrade() throws IOException {
+        Files.writeString(Paths.get(TEST_FILE_PATH), "D | 0 | midnight | 1/1/2024 2400\n");
+
+        List<Task> loadedTasks = storage.load();
+
+        assertEquals(1, loadedTasks.size());
+        assertEquals(0, storage.getSkippedRecordCount());
+        List<Task> reloadedTasks = new Storage(TEST_FILE_PATH).load();
+        assertEquals(1, reloadedTasks.size());
+        assertEquals("2/1/2024 0000", ((Deadline) reloadedTasks.get(0)).getBy());
+    }
+}
@@ -0,0 +1,100 @@
+package duke.data;
+
+import duke.components.Deadline;
+import duke.components.Event;
+import duke.components.Task;
+import duke.components.ToDo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the TextTaskReader class.
+ */
+public class TextTaskReaderTest {
+    private static final String TEST_FILE_PATH = "./data/test_text_reader_tasks.txt";
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Files.createDirectories(Paths.get(TEST_FILE_PATH).getParent());
+        Files.deleteIfExists(Paths.get(TEST_FILE_PATH));
+    }
+
+    @Test
+    public void read_allTaskTypes_tasksParsed() throws IOException {
+        Files.write(Paths.get(TEST_FILE_PATH), ("T | 1 | read caf\u00e9 menu\r\n"
+                + "D | 0 | return book | 2/12/2019 1800\n"
+                + "\n"
+                + "E | 0 | project meeting | 12/2/2025 1800 | 13/2/2025 1800").getBytes(StandardCharsets.UTF_8));
+
+        List<Task> tasks = TextTaskReader.read(new File(TEST_FILE_PATH)).getTasks();
+
+        assertEquals(3, tasks.size());
+        assertTrue(tasks.get(0) instanceof ToDo);
+        assertTrue(tasks.get(0).isDone());
+        assertEquals("read caf\u00e9 menu", tasks.get(0).getDescription());
+        assertEquals("2/12/2019 1800", ((Deadline) tasks.get(1)).getBy());
+        assertEquals("12/2/2025 1800", ((Event) tasks.get(2)).getFrom());
+        assertEquals("13/2/2025 1800", ((Event) tasks.get(2)).getTo());
+    }
+
+    @Test
+    public void read_hour24_nextMidnight() throws IOException {
+        Files.write(Paths.get(TEST_FILE_PATH), "D | 0 | midnight | 1/1/2024 2400\n".getBytes(StandardCharsets.UTF_8));
+
+        SnapshotContents contents = TextTaskReader.read(new File(TEST_FILE_PATH));
+
+        assertEquals(1, contents.getTasks().size());
+        assertEquals(0, contents.getSkippedRecords());
+        assertEquals(LocalDateTime.of(2024, 1, 2, 0, 0), ((Deadline) contents.getTasks().get(0)).getByDateTime());
+    }
+
+    @Test
+    public void read_missingField_exceptionThrown() throws IOException {
+        Files.write(Paths.get(TEST_FILE_PATH), "D | 0 | return book\nT | 0 | read\n".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IOException.class, () -> TextTaskReader.read(new File(TEST_FILE_PATH)));
+    }
+
+    @Test
+    public void read_invalidDate_exceptionThrown() throws IOException {
+        Files.write(Paths.get(TEST_FILE_PATH), "T | 0 | read\nD | 0 | return book | 32/12/2019 1800\n"
+                .getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IOException.class, () -> TextTaskReader.read(new File(TEST_FILE_PATH)));
+    }
+
+    @Test
+    public void read_intactChecksumInvalidTask_exceptionThrown() throws IOException {
+        String invalid = TextTaskFormat.addChecksum("D | 0 | return book | id=1");
+        Files.write(Paths.get(TEST_FILE_PATH), (TextTaskFormat.createHeader(1) + "\n" + invalid + "\n")
+                .getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IOException.class, () -> TextTaskReader.read(new File(TEST_FILE_PATH)));
+    }
+
+    @Test
+    public void read_checksums_damagedLinesSkipped() throws IOException {
+        String intact = TextTaskFormat.addChecksum("T | 0 | read book | id=1");
+        String damaged = TextTaskFormat.addChecksum("T | 0 | return book | id=2").replace("return", "retunr");
+        Files.write(Paths.get(TEST_FILE_PATH), (TextTaskFormat.createHeader(7) + "\n" + intact + "\n" + damaged + "\n")
+                .getBytes(StandardCharsets.UTF_8));
+
+        SnapshotContents contents = TextTaskReader.read(new File(TEST_FILE_PATH));
+
+        assertEquals(TextTaskFormat.VERSION, contents.getVersion());
+        assertEquals(7, contents.getGeneration());
+        assertEquals(1, contents.getTasks().size());
+        assertEquals("read book", contents.getTasks().get(0).getDescription());
+        assertEquals(1, contents.getSkippedRecords());
+    }
+}
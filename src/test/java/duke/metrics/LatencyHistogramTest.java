@@ -0,0 +1,47 @@
+package duke.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the LatencyHistogram class.
+ */
+public class LatencyHistogramTest {
+    @Test
+    public void getPercentileNanos_noLatencies_zero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMeanNanos());
+        assertEquals(0, histogram.getPercentileNanos(0.99));
+    }
+
+    @Test
+    public void getPercentileNanos_recordedLatencies_boundedByBucketTop() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(1000);
+        }
+        histogram.record(1_000_000);
+
+        assertEquals(100, histogram.getCount());
+        assertEquals((99 * 1000 + 1_000_000) / 100, histogram.getMeanNanos());
+        assertEquals(1_000_000, histogram.getMaxNanos());
+        long median = histogram.getPercentileNanos(0.5);
+        assertTrue(median >= 1000 && median < 2000, "median " + median);
+        assertEquals(histogram.getPercentileNanos(0.99), median);
+        assertEquals(1_000_000, histogram.getPercentileNanos(1.0));
+    }
+
+    @Test
+    public void record_extremeLatencies_recordedWithoutOverflow() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(2, histogram.getCount());
+        assertEquals(0, histogram.getPercentileNanos(0.5));
+        assertEquals(Long.MAX_VALUE, histogram.getPercentileNanos(1.0));
+    }
+}
@@ -0,0 +1,120 @@
+package duke.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import duke.data.Storage;
+import duke.ui.AdventureGuideBot;
+
+/**
+ * Tests the AdventureGuideServer class with loopback clients.
+ */
+public class AdventureGuideServerTest {
+    private static final String FILE_PATH = "./data/test_server_tasks.txt";
+
+    private AdventureGuideBot bot;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Files.deleteIfExists(Paths.get(FILE_PATH));
+        Files.deleteIfExists(Paths.get(FILE_PATH + ".journal"));
+        bot = new AdventureGuideBot(new Storage(FILE_PATH));
+    }
+
+    @Test
+    public void serve_concurrentClients_everyCommandAnsweredAndApplied() throws Exception {
+        int clientCount = 8;
+        int commandsPerClient = 200;
+        AdventureGuideServer server = new AdventureGuideServer(bot, 0);
+        server.start();
+        ExecutorService executor = Executors.newFixedThreadPool(clientCount);
+        List<Future<?>> clients = new ArrayList<>();
+        for (int c = 0; c < clientCount; c++) {
+            int clientNumber = c;
+            clients.add(executor.submit(() -> {
+                try (Client client = new Client(server.getPort())) {
+                    for (int i = 0; i < commandsPerClient; i++) {
+                        String response = client.send("todo client " + clientNumber + " task " + i);
+                        assertTrue(response.startsWith("Got it. I've added this task"));
+                        assertTrue(response.contains("client " + clientNumber + " task " + i + "\n"));
+                    }
+                    assertTrue(client.send("bye").startsWith("Farewell"));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> client : clients) {
+            client.get();
+        }
+        executor.shutdown();
+        server.close();
+        bot.shutdown();
+
+        assertEquals(clientCount * (commandsPerClient + 1), server.getMetrics().getRequestCount());
+        assertTrue(server.getMetrics().getMaxLatencyNanos() >= server.getMetrics().getMeanLatencyNanos());
+        assertEquals(clientCount * commandsPerClient, new Storage(FILE_PATH).load().size());
+    }
+
+    @Test
+    public void writeResponse_linesStartingWithDot_dotStuffedAndTerminated() throws IOException {
+        StringWriter out = new StringWriter();
+
+        AdventureGuideServer.writeResponse(out, "first\n.second\n");
+
+        assertEquals("first\n..second\n\n.\n", out.toString());
+    }
+
+    /**
+     * A loopback client that reads dot-terminated responses.
+     */
+    private static class Client implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final Writer out;
+
+        Client(int port) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+        }
+
+        String send(String command) throws IOException {
+            out.write(command + "\n");
+            out.flush();
+            StringBuilder response = new StringBuilder();
+            String line;
+            while ((line = in.readLine()) != null && !line.equals(AdventureGuideServer.END_OF_RESPONSE)) {
+                if (response.length() > 0) {
+                    response.append('\n');
+                }
+                response.append(line.startsWith(".") ? line.substring(1) : line);
+            }
+            return response.toString();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
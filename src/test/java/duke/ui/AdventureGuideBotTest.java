@@ -1,20 +1,30 @@
 package duke.ui;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import duke.components.Deadline;
 import duke.components.Event;
+import duke.components.Task;
 import duke.components.TaskList;
 import duke.data.Storage;
 import duke.exceptions.EmptyDescriptionException;
 import duke.exceptions.EmptyIndexException;
 import duke.exceptions.InvalidDateFormatException;
+import duke.exceptions.InvalidPageNumberException;
 import duke.exceptions.InvalidTaskNumberException;
 
 /**
@@ -107,5 +117,201 @@ public class AdventureGuideBotTest {
             fail();
         }
     }
+
+    @Test
+    public void handleList_moreTasksThanPageSize_requestedPageListed() throws Exception {
+        String filePath = "./data/test_list_tasks.txt";
+        Files.deleteIfExists(Paths.get(filePath));
+        Files.deleteIfExists(Paths.get(filePath + ".journal"));
+        AdventureGuideBot bot = new AdventureGuideBot(new Storage(filePath));
+        bot.setPageSize(2);
+        for (int i = 1; i <= 5; i++) {
+            bot.handleTodo("task " + i);
+        }
+
+        assertEquals("Here are the tasks in your list (page 2 of 3):\n3. [T][ ] task 3\n4. [T][ ] task 4"
+                + "\nType 'list 3' to see the next page.", bot.handleList("2"));
+        assertEquals("Here are the tasks in your list (page 3 of 3):\n5. [T][ ] task 5", bot.handleList("3"));
+        StringBuilder fullList = new StringBuilder();
+        bot.writeList(fullList);
+        assertEquals(6, fullList.toString().split("\n").length);
+        bot.shutdown();
+    }
+
+    @Test
+    public void handleList_pageOutOfRange_exceptionThrown() {
+        try {
+            adventureGuideBot.handleList("0");
+            fail();
+        } catch (InvalidPageNumberException e) {
+            assertEquals("OOPS!!! The page number is invalid.", e.getMessage());
+        } catch (Exception e) {
+            fail();
+        }
+    }
+
+    @Test
+    public void bulkCommands_rangesAndLists_appliedAndPersistedInOneCommit() throws Exception {
+        String filePath = "./data/test_bulk_tasks.txt";
+        Files.deleteIfExists(Paths.get(filePath));
+        Files.deleteIfExists(Paths.get(filePath + ".journal"));
+        AdventureGuideBot bot = new AdventureGuideBot(new Storage(filePath));
+        for (int i = 1; i <= 10; i++) {
+            bot.handleTodo("task " + i);
+        }
+
+        assertEquals("Nice! I've marked 5 tasks as done.", bot.handleMark("1-3,5,3-4"));
+        assertEquals("A tag #work has been added to 3 tasks.", bot.handleTag("8-10 work"));
+        assertEquals("Noted. I've removed 3 tasks.\nNow you have 7 tasks in the list.", bot.handleDelete("2,@4,9"));
+        assertEquals("The tags have been removed from 1 tasks.", bot.handleUntag("5-6"));
+        bot.shutdown();
+
+        String expected = "1. [T][X] task 1\n2. [T][X] task 3\n3. [T][X] task 5\n4. [T][ ] task 6\n"
+                + "5. [T][ ] task 7\n6. [T][ ] task 8\n7. [T][ ] task 10 #work";
+        assertEquals("Here are the tasks in your list:\n" + expected, bot.handleList());
+        AdventureGuideBot reloadedBot = new AdventureGuideBot(new Storage(filePath));
+        assertEquals("Here are the tasks in your list:\n" + expected, reloadedBot.handleList());
+        assertEquals("Noted. I've removed this task:\n[T][ ] task 10 #work\nNow you have 6 tasks in the list.",
+                reloadedBot.handleDelete("@10"));
+        reloadedBot.shutdown();
+    }
+
+    @Test
+    public void undoRedo_bulkCommands_revertedAndPersisted() throws Exception {
+        String filePath = "./data/test_undo_tasks.txt";
+        Files.deleteIfExists(Paths.get(filePath));
+        Files.deleteIfExists(Paths.get(filePath + ".journal"));
+        AdventureGuideBot bot = new AdventureGuideBot(new Storage(filePath));
+        for (int i = 1; i <= 6; i++) {
+            bot.handleTodo("task " + i);
+        }
+        bot.handleTag("2 work");
+        String original = bot.handleList();
+        bot.handleMark("1-4");
+        bot.handleTag("1-3 home");
+        bot.handleUntag("2-3");
+        bot.handleDelete("1,3,5-6");
+
+        assertEquals("OK, I've undone \"delete 1,3,5-6\".\nNow you have 6 tasks in the list.", bot.handleUndo());
+        bot.handleUndo();
+        bot.handleUndo();
+        assertEquals("OK, I've undone \"mark 1-4\".\nNow you have 6 tasks in the list.", bot.handleUndo());
+        assertEquals(original, bot.handleList());
+        assertEquals("OK, I've redone \"mark 1-4\".\nNow you have 6 tasks in the list.", bot.handleRedo());
+        bot.shutdown();
+
+        String expected = "Here are the tasks in your list:\n1. [T][X] task 1\n2. [T][X] task 2 #work\n"
+                + "3. [T][X] task 3\n4. [T][X] task 4\n5. [T][ ] task 5\n6. [T][ ] task 6";
+        assertEquals(expected, bot.handleList());
+        AdventureGuideBot reloadedBot = new AdventureGuideBot(new Storage(filePath));
+        assertEquals(expected, reloadedBot.handleList());
+        assertEquals("Noted. I've removed this task:\n[T][ ] task 5\nNow you have 5 tasks in the list.",
+                reloadedBot.handleDelete("@5"));
+        reloadedBot.shutdown();
+    }
+
+    @Test
+    public void undo_addedTaskThenRedo_sameIdRestored() throws Exception {
+        String filePath = "./data/test_undo_add_tasks.txt";
+        Files.deleteIfExists(Paths.get(filePath));
+        Files.deleteIfExists(Paths.get(filePath + ".journal"));
+        AdventureGuideBot bot = new AdventureGuideBot(new Storage(filePath));
+        bot.handleTodo("read book");
+        bot.handleTodo("return book");
+
+        assertEquals("OK, I've undone \"todo return book\".\nNow you have 1 tasks in the list.", bot.handleUndo());
+        assertEquals("OK, I've redone \"todo return book\".\nNow you have 2 tasks in the list.", bot.handleRedo());
+        assertEquals("Nice! I've marked this task as done:\n[T][X] return book", bot.handleMark("@2"));
+        assertEquals("OOPS!!! There is nothing to redo.", bot.getResponse("redo"));
+        bot.shutdown();
+    }
+
+    @Test
+    public void getResponse_undoWithoutChanges_errorReturned() {
+        AdventureGuideBot bot = new AdventureGuideBot(new Storage("./data/test_undo_empty_tasks.txt"));
+
+        assertEquals("OOPS!!! There is nothing to undo.", bot.getResponse("undo"));
+        assertEquals("OOPS!!! There is nothing to redo.", bot.getResponse("redo"));
+    }
+
+    @Test
+    public void getResponse_unexpectedException_errorResponseReturned() {
+        AdventureGuideBot bot = new AdventureGuideBot(new Storage("./data/test_unexpected_tasks.txt") {
+            @Override
+            public void commit(List<Task> tasks) {
+                throw new IllegalStateException("Disk gone");
+            }
+        });
+
+        assertEquals("OOPS!!! An unexpected error occurred.", bot.getResponse(null));
+        assertEquals("OOPS!!! An unexpected error occurred.", bot.getResponse("todo read"));
+    }
+
+    @Test
+    public void handleDelete_reversedRange_exceptionThrown() {
+        try {
+            adventureGuideBot.handleDelete("3-1");
+            fail();
+        } catch (InvalidTaskNumberException e) {
+            assertEquals("OOPS!!! The task number is invalid.", e.getMessage());
+        } catch (Exception e) {
+            fail();
+        }
+    }
+
+    @Test
+    public void getResponse_stats_commandLatenciesReported() {
+        adventureGuideBot.getResponse("list");
+        adventureGuideBot.getResponse("not a command");
+
+        String report = adventureGuideBot.getResponse("stats");
+        assertTrue(report.startsWith("Here are the command latencies (mean/p99):"), report);
+        assertTrue(report.contains("\nlist x"), report);
+        assertTrue(report.contains("\ninvalid x"), report);
+        assertTrue(report.contains("\nStorage: load "), report);
+    }
+
+    @Test
+    public void timeQueries_deadlinesAndEvents_listedByTime() throws Exception {
+        String filePath = "./data/test_time_tasks.txt";
+        Files.deleteIfExists(Paths.get(filePath));
+        Files.deleteIfExists(Paths.get(filePath + ".journal"));
+        AdventureGuideBot bot = new AdventureGuideBot(new Storage(filePath));
+        bot.handleDeadline("return book /by 2/12/2019 1800");
+        bot.handleEvent("book fair /from 1/12/2019 0900 /to 3/12/2019 1700");
+        bot.handleEvent("lunch /from 2/12/2019 1200 /to 2/12/2019 1300");
+        bot.handleTodo("read book");
+
+        assertEquals("Here are the deadlines due on Dec 2 2019:\n1. [D][ ] return book (by: Dec 2 2019 18:00)",
+                bot.handleDue("2/12/2019"));
+        assertEquals("Nothing is due on Dec 3 2019.", bot.handleDue("3/12/2019"));
+        assertEquals("Here is your agenda from Dec 2 2019 00:00 to Dec 2 2019 23:59:\n"
+                + "1. [E][ ] book fair (from: Dec 1 2019 09:00 to: Dec 3 2019 17:00)\n"
+                + "2. [E][ ] lunch (from: Dec 2 2019 12:00 to: Dec 2 2019 13:00)\n"
+                + "3. [D][ ] return book (by: Dec 2 2019 18:00)", bot.getResponse("agenda 2/12/2019"));
+        assertEquals("Your agenda is clear from Dec 4 2019 00:00 to Dec 5 2019 23:59.",
+                bot.getResponse("agenda 4/12/2019 /to 5/12/2019"));
+        assertEquals("Here are the events that overlap with this task:\n"
+                + "1. [E][ ] book fair (from: Dec 1 2019 09:00 to: Dec 3 2019 17:00)", bot.handleOverlaps("3"));
+        assertEquals("OOPS!!! This task has no date.", bot.getResponse("overlaps 4"));
+        bot.shutdown();
+    }
+
+    @Test
+    public void startReminders_deadlineDueSoon_reminderMessageDelivered() throws Exception {
+        String filePath = "./data/test_reminder_tasks.txt";
+        Files.deleteIfExists(Paths.get(filePath));
+        Files.deleteIfExists(Paths.get(filePath + ".journal"));
+        AdventureGuideBot bot = new AdventureGuideBot(new Storage(filePath));
+        BlockingQueue<String> reminders = new LinkedBlockingQueue<>();
+        bot.startReminders(reminders::add);
+        bot.handleDeadline("return book /by " + LocalDateTime.now().plusMinutes(30).format(DeadlineInputFormatter));
+
+        String reminder = reminders.poll(5, TimeUnit.SECONDS);
+        assertTrue(reminder.startsWith("Reminder: this task is due at "), reminder);
+        assertTrue(reminder.endsWith(":\n[D][ ] return book (by: "
+                + reminder.substring("Reminder: this task is due at ".length(), reminder.indexOf(":\n")) + ")"),
+                reminder);
+        bot.shutdown();
+    }
 }
-    
@@ -0,0 +1,64 @@
+package duke.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import duke.data.Storage;
+
+/**
+ * Tests the CommandPipeline class.
+ */
+public class CommandPipelineTest {
+    private static final String FILE_PATH = "./data/test_pipeline_tasks.txt";
+
+    private AdventureGuideBot bot;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        Files.deleteIfExists(Paths.get(FILE_PATH));
+        Files.deleteIfExists(Paths.get(FILE_PATH + ".journal"));
+        bot = new AdventureGuideBot(new Storage(FILE_PATH));
+    }
+
+    @Test
+    public void submit_manyCommands_responsesInSubmissionOrder() throws Exception {
+        List<String> responses = Collections.synchronizedList(new ArrayList<>());
+        CommandPipeline pipeline = new CommandPipeline(bot, Runnable::run);
+        for (int i = 1; i <= 100; i++) {
+            pipeline.submit("todo task " + i, responses::add);
+        }
+        pipeline.close();
+
+        assertEquals(100, responses.size());
+        for (int i = 1; i <= 100; i++) {
+            assertEquals("Got it. I've added this task (@" + i + "):\n[T][ ] task " + i
+                    + "\nNow you have " + i + " tasks in the list.", responses.get(i - 1));
+        }
+        assertEquals(0, pipeline.getPendingCount());
+        bot.shutdown();
+    }
+
+    @Test
+    public void submit_command_runsOffCallingThread() throws Exception {
+        List<String> threadNames = Collections.synchronizedList(new ArrayList<>());
+        CommandPipeline pipeline = new CommandPipeline(bot, runnable -> {
+            threadNames.add(Thread.currentThread().getName());
+            runnable.run();
+        });
+        pipeline.submit("list", response -> { });
+        pipeline.close();
+
+        assertEquals(1, threadNames.size());
+        assertNotEquals(Thread.currentThread().getName(), threadNames.get(0));
+        bot.shutdown();
+    }
+}
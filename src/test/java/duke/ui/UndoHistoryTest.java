@@ -0,0 +1,72 @@
+package duke.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import duke.components.Task;
+import duke.components.TaskList;
+import duke.components.ToDo;
+import duke.data.Storage;
+import duke.exceptions.NothingToUndoException;
+
+/**
+ * Tests the UndoHistory class.
+ */
+public class UndoHistoryTest {
+    private static final String TEST_FILE_PATH = "./data/test_undo_history_tasks.txt";
+
+    @Test
+    public void record_capacityExceeded_oldestChangesDropped() throws Exception {
+        Files.deleteIfExists(Paths.get(TEST_FILE_PATH));
+        Files.deleteIfExists(Paths.get(TEST_FILE_PATH + ".journal"));
+        Storage storage = new Storage(TEST_FILE_PATH);
+        TaskList tasks = new TaskList(storage.load());
+        UndoHistory history = new UndoHistory(5);
+        for (int i = 0; i < 6; i++) {
+            Task task = new ToDo("task " + i);
+            tasks.addTask(task);
+            history.recordAdded("todo task " + i, List.of(task));
+        }
+        assertEquals(5, history.getUndoCount());
+
+        history.record(history.captureStates("mark 1-4", tasks, new int[] { 0, 1, 2, 3 }, false));
+        tasks.markTasks(new int[] { 0, 1, 2, 3 });
+
+        assertEquals(2, history.getUndoCount());
+        assertEquals("mark 1-4", history.undo(tasks, storage));
+        assertEquals("todo task 5", history.undo(tasks, storage));
+        try {
+            history.undo(tasks, storage);
+            fail();
+        } catch (NothingToUndoException e) {
+            assertEquals("OOPS!!! There is nothing to undo.", e.getMessage());
+        }
+        assertEquals(5, tasks.size());
+        assertEquals(0, tasks.findTasks("task").stream().filter(Task::isDone).count());
+    }
+
+    @Test
+    public void record_afterUndo_redoDiscarded() throws Exception {
+        Files.deleteIfExists(Paths.get(TEST_FILE_PATH));
+        Files.deleteIfExists(Paths.get(TEST_FILE_PATH + ".journal"));
+        Storage storage = new Storage(TEST_FILE_PATH);
+        TaskList tasks = new TaskList(storage.load());
+        UndoHistory history = new UndoHistory(UndoHistory.DEFAULT_CAPACITY);
+        Task task = new ToDo("read");
+        tasks.addTask(task);
+        history.recordAdded("todo read", List.of(task));
+
+        history.undo(tasks, storage);
+        assertEquals(1, history.getRedoCount());
+        history.recordRemoved("delete 1", List.of());
+
+        assertEquals(0, history.getRedoCount());
+        assertEquals(1, history.getUndoCount());
+    }
+}